@@ -0,0 +1,37 @@
+-- Resserre les identifiants de réservation en CHAR(26) ASCII (MySQL / InnoDB) après la migration
+-- vers des ULID (profil migrate-reservation-ids). Clé de 26 octets au lieu de 1020 en
+-- VARCHAR(255) utf8mb4, dans l'index cluster comme dans les tables de jointure.
+--
+--   mysql -h mysqldb -u root db < scripts/reservation-ids-mysql.sql
+--
+-- Échoue (et ne modifie rien) s'il reste des identifiants de plus de 26 caractères.
+
+DROP PROCEDURE IF EXISTS verifier_ids_reservation;
+DELIMITER //
+CREATE PROCEDURE verifier_ids_reservation()
+BEGIN
+    IF (SELECT COUNT(*) FROM reservation WHERE CHAR_LENGTH(id_reservation) <> 26) > 0 THEN
+        SIGNAL SQLSTATE '45000'
+            SET MESSAGE_TEXT = 'Identifiants non migrés : lancer le profil migrate-reservation-ids';
+    END IF;
+END //
+DELIMITER ;
+CALL verifier_ids_reservation();
+DROP PROCEDURE verifier_ids_reservation;
+
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE reservation
+    MODIFY id_reservation CHAR(26) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+ALTER TABLE reservation_etudiants
+    MODIFY reservations_id_reservation CHAR(26) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+ALTER TABLE chambre_reservations
+    MODIFY reservations_id_reservation CHAR(26) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+ALTER TABLE reservation_id_alias
+    MODIFY id_reservation CHAR(26) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- Taille des index après resserrement
+SELECT table_name, data_length, index_length
+FROM information_schema.tables
+WHERE table_schema = DATABASE()
+  AND table_name IN ('reservation', 'reservation_etudiants', 'chambre_reservations');
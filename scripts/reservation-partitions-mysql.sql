@@ -0,0 +1,92 @@
+-- Partitionne la table reservation par année universitaire (MySQL / InnoDB) : une partition par
+-- rentrée, les requêtes sur l'année en cours (tableau de bord, retrieve-reservations-annee) ne
+-- lisent plus que sa partition.
+--
+--   mysql -h mysqldb -u root db < scripts/reservation-partitions-mysql.sql
+--
+-- Prérequis : colonne annee_academique renseignée (profil backfill-annee-academique).
+-- InnoDB impose que la clé de partitionnement figure dans la clé primaire, et n'accepte pas de
+-- clé étrangère vers une table partitionnée : la clé primaire devient (id_reservation,
+-- annee_academique) et les clés étrangères des tables de jointure vers reservation sont
+-- supprimées (Hibernate, en ddl-auto=update, signale au démarrage qu'il ne peut pas les recréer).
+--
+-- Une nouvelle partition par an, avant la rentrée : CALL ajouter_partition_annee(2027);
+
+DROP PROCEDURE IF EXISTS verifier_annee_academique;
+DROP PROCEDURE IF EXISTS supprimer_cles_etrangeres_reservation;
+DROP PROCEDURE IF EXISTS partitionner_reservation;
+DROP PROCEDURE IF EXISTS ajouter_partition_annee;
+DELIMITER //
+CREATE PROCEDURE verifier_annee_academique()
+BEGIN
+    IF (SELECT COUNT(*) FROM reservation WHERE annee_academique = 0 AND annee_universitaire IS NOT NULL) > 0 THEN
+        SIGNAL SQLSTATE '45000'
+            SET MESSAGE_TEXT = 'Années universitaires non renseignées : lancer le profil backfill-annee-academique';
+    END IF;
+END //
+
+CREATE PROCEDURE supprimer_cles_etrangeres_reservation()
+BEGIN
+    DECLARE fin BOOLEAN DEFAULT FALSE;
+    DECLARE nom_table, nom_contrainte VARCHAR(64);
+    DECLARE cles CURSOR FOR
+        SELECT table_name, constraint_name FROM information_schema.referential_constraints
+        WHERE constraint_schema = DATABASE() AND referenced_table_name = 'reservation';
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET fin = TRUE;
+    OPEN cles;
+    suivante: LOOP
+        FETCH cles INTO nom_table, nom_contrainte;
+        IF fin THEN
+            LEAVE suivante;
+        END IF;
+        SET @ddl = CONCAT('ALTER TABLE `', nom_table, '` DROP FOREIGN KEY `', nom_contrainte, '`');
+        PREPARE ddl FROM @ddl;
+        EXECUTE ddl;
+        DEALLOCATE PREPARE ddl;
+    END LOOP;
+    CLOSE cles;
+END //
+
+-- p0 : réservations sans date ; puis une partition par rentrée jusqu'à l'année prochaine ; pmax
+CREATE PROCEDURE partitionner_reservation()
+BEGIN
+    DECLARE rentree SMALLINT;
+    DECLARE derniere SMALLINT DEFAULT YEAR(CURDATE()) - IF(MONTH(CURDATE()) >= 9, 0, 1) + 1;
+    SELECT COALESCE(MIN(annee_academique), derniere) INTO rentree FROM reservation WHERE annee_academique > 0;
+    SET @ddl = 'ALTER TABLE reservation PARTITION BY RANGE (annee_academique) (PARTITION p0 VALUES LESS THAN (1)';
+    WHILE rentree <= derniere DO
+        SET @ddl = CONCAT(@ddl, ', PARTITION p', rentree, ' VALUES LESS THAN (', rentree + 1, ')');
+        SET rentree = rentree + 1;
+    END WHILE;
+    SET @ddl = CONCAT(@ddl, ', PARTITION pmax VALUES LESS THAN MAXVALUE)');
+    PREPARE ddl FROM @ddl;
+    EXECUTE ddl;
+    DEALLOCATE PREPARE ddl;
+END //
+
+-- Sort la rentrée de pmax (vide tant que la partition est créée avant la rentrée)
+CREATE PROCEDURE ajouter_partition_annee(IN rentree SMALLINT)
+BEGIN
+    SET @ddl = CONCAT('ALTER TABLE reservation REORGANIZE PARTITION pmax INTO (PARTITION p', rentree,
+                      ' VALUES LESS THAN (', rentree + 1, '), PARTITION pmax VALUES LESS THAN MAXVALUE)');
+    PREPARE ddl FROM @ddl;
+    EXECUTE ddl;
+    DEALLOCATE PREPARE ddl;
+END //
+DELIMITER ;
+
+CALL verifier_annee_academique();
+CALL supprimer_cles_etrangeres_reservation();
+ALTER TABLE reservation DROP PRIMARY KEY, ADD PRIMARY KEY (id_reservation, annee_academique);
+CALL partitionner_reservation();
+DROP PROCEDURE verifier_annee_academique;
+DROP PROCEDURE supprimer_cles_etrangeres_reservation;
+DROP PROCEDURE partitionner_reservation;
+
+-- Partitions et volumes ; la requête du tableau de bord ne doit lire qu'une partition
+SELECT partition_name, partition_description, table_rows
+FROM information_schema.partitions
+WHERE table_schema = DATABASE() AND table_name = 'reservation'
+ORDER BY partition_ordinal_position;
+EXPLAIN SELECT COUNT(*) FROM reservation
+WHERE annee_academique = YEAR(CURDATE()) - IF(MONTH(CURDATE()) >= 9, 0, 1);
@@ -0,0 +1,54 @@
+#!/bin/sh
+# Compare le temps jusqu'à la première requête réussie entre l'image standard (Dockerfile,
+# java -jar) et l'image AOT + CDS (Dockerfile.cds).
+#
+#   mvn -Pcds -DskipTests package && scripts/startup-benchmark.sh [répétitions]
+#
+# Le JAR construit avec -Pcds fonctionne aussi sans AOT (spring.aot.enabled n'est lu qu'au démarrage).
+set -eu
+
+RUNS=${1:-5}
+NETWORK=tpfoyer-bench
+DB=tpfoyer-bench-db
+APP=tpfoyer-bench-app
+URL=http://localhost:8089/tpfoyer/universite/retrieve-all-universites
+SPRING_JSON='{
+  "spring.datasource.url" : "jdbc:mysql://'$DB':3306/db?createDatabaseIfNotExist=true",
+  "spring.datasource.username" : "root",
+  "spring.datasource.password" : "",
+  "spring.jpa.hibernate.ddl-auto" : "update" }'
+
+cd "$(dirname "$0")/.."
+
+cleanup() {
+    docker rm -f "$APP" "$DB" >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+docker build -q -t tpfoyer:bench-jar -f Dockerfile . >/dev/null
+docker build -q -t tpfoyer:bench-cds -f Dockerfile.cds . >/dev/null
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+    -e MYSQL_ALLOW_EMPTY_PASSWORD=yes -e MYSQL_DATABASE=db mysql:5.7 >/dev/null
+until docker exec "$DB" mysqladmin ping -h 127.0.0.1 --silent >/dev/null 2>&1; do sleep 1; done
+
+for image in tpfoyer:bench-jar tpfoyer:bench-cds; do
+    total=0
+    for run in $(seq "$RUNS"); do
+        start=$(now_ms)
+        docker run -d --name "$APP" --network "$NETWORK" -p 8089:8089 \
+            -e SPRING_APPLICATION_JSON="$SPRING_JSON" "$image" >/dev/null
+        until curl -sf -o /dev/null "$URL"; do sleep 0.1; done
+        elapsed=$(( $(now_ms) - start ))
+        docker rm -f "$APP" >/dev/null
+        total=$(( total + elapsed ))
+        echo "$image run $run: ${elapsed} ms"
+    done
+    echo "$image moyenne: $(( total / RUNS )) ms"
+done
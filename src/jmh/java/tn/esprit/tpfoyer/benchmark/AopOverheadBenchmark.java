@@ -0,0 +1,56 @@
+package tn.esprit.tpfoyer.benchmark;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import tn.esprit.tpfoyer.config.ConfigAOP;
+import tn.esprit.tpfoyer.entity.Foyer;
+import tn.esprit.tpfoyer.repository.FoyerRepository;
+import tn.esprit.tpfoyer.service.FoyerServiceImpl;
+import tn.esprit.tpfoyer.service.IFoyerService;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de l'advice {@link ConfigAOP} (timer Micrometer, évènement JFR, trace échantillonnée) sur un
+ * appel de service : même service avec et sans proxy, repository remplacé par un stub constant
+ * pour que seule l'instrumentation soit mesurée.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AopOverheadBenchmark {
+
+    private IFoyerService direct;
+    private IFoyerService advised;
+
+    @Setup
+    public void setUp() {
+        List<Foyer> foyers = List.of(new Foyer());
+        FoyerRepository repository = (FoyerRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {FoyerRepository.class}, (proxy, method, args) -> foyers);
+        // Registre Prometheus comme en production : histogrammes de percentiles inclus
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        direct = new FoyerServiceImpl(repository, registry);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new FoyerServiceImpl(repository, registry));
+        factory.addAspect(new ConfigAOP(registry, 0.01));
+        advised = factory.getProxy();
+    }
+
+    @Benchmark
+    public List<Foyer> direct() {
+        return direct.retrieveAllFoyers();
+    }
+
+    @Benchmark
+    public List<Foyer> advised() {
+        return advised.retrieveAllFoyers();
+    }
+}
@@ -0,0 +1,101 @@
+package tn.esprit.tpfoyer.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tn.esprit.tpfoyer.dto.BatchResult;
+import tn.esprit.tpfoyer.entity.Etudiant;
+import tn.esprit.tpfoyer.entity.Reservation;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON, CBOR et Smile sur les payloads des endpoints retrieve-all (List&lt;Reservation&gt;) et
+ * batch (BatchResult&lt;Etudiant, Long&gt;) : aller-retour encodage + décodage. Les tailles
+ * encodées sont affichées au démarrage de chaque essai.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"1000"})
+    int size;
+
+    private ObjectMapper mapper;
+    private JavaType reservationsType;
+    private JavaType batchType;
+    private List<Reservation> reservations;
+    private BatchResult<Etudiant, Long> etudiants;
+    private byte[] reservationsBytes;
+    private byte[] etudiantsBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> { }
+        }
+        mapper = builder.build();
+        reservationsType = mapper.getTypeFactory().constructCollectionType(List.class, Reservation.class);
+        batchType = mapper.getTypeFactory().constructParametricType(BatchResult.class, Etudiant.class, Long.class);
+
+        Random random = new Random(42);
+        reservations = new ArrayList<>(size);
+        List<Etudiant> found = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setIdReservation("2024-" + i);
+            reservation.setAnneeUniversitaire(new Date(1_700_000_000_000L + random.nextInt(1_000_000) * 1000L));
+            reservation.setEstValide(random.nextBoolean());
+            reservations.add(reservation);
+
+            Etudiant etudiant = new Etudiant();
+            etudiant.setIdEtudiant(i + 1);
+            etudiant.setNomEtudiant("Nom" + i);
+            etudiant.setPrenomEtudiant("Prenom" + i);
+            etudiant.setCinEtudiant(10_000_000L + random.nextInt(90_000_000));
+            etudiant.setDateNaissance(new Date(900_000_000_000L + random.nextInt(1_000_000) * 1000L));
+            found.add(etudiant);
+        }
+        etudiants = new BatchResult<>(found, List.of(1L, 2L, 3L));
+
+        reservationsBytes = mapper.writerFor(reservationsType).writeValueAsBytes(reservations);
+        etudiantsBytes = mapper.writerFor(batchType).writeValueAsBytes(etudiants);
+        System.out.printf("%n[%s] List<Reservation> x%d : %d octets, BatchResult<Etudiant> x%d : %d octets%n",
+                format, size, reservationsBytes.length, size, etudiantsBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeReservations() throws IOException {
+        return mapper.writerFor(reservationsType).writeValueAsBytes(reservations);
+    }
+
+    @Benchmark
+    public Object readReservations() throws IOException {
+        return mapper.readerFor(reservationsType).readValue(reservationsBytes);
+    }
+
+    @Benchmark
+    public byte[] writeEtudiantsBatch() throws IOException {
+        return mapper.writerFor(batchType).writeValueAsBytes(etudiants);
+    }
+
+    @Benchmark
+    public Object readEtudiantsBatch() throws IOException {
+        return mapper.readerFor(batchType).readValue(etudiantsBytes);
+    }
+}
@@ -0,0 +1,74 @@
+package tn.esprit.tpfoyer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compare deux résultats JMH ({@code -rf json}) benchmark par benchmark et paramètres, par exemple
+ * ceux de deux releases :
+ * <pre>
+ * mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=tn.esprit.tpfoyer.benchmark.JmhResultComparator \
+ *     -Dexec.args="baseline.json target/jmh-result.json 10"
+ * </pre>
+ * Code de sortie 1 si un score se dégrade de plus du seuil (en %, 10 par défaut), en tenant compte
+ * du sens du mode (débit : plus haut est mieux ; temps moyen : plus bas est mieux).
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : JmhResultComparator <baseline.json> <current.json> [seuil %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        boolean regression = false;
+        System.out.printf("%-60s %14s %14s %9s%n", "Benchmark", "Reference", "Actuel", "Ecart");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            String unit = now.path("primaryMetric").path("scoreUnit").asText();
+            double score = now.path("primaryMetric").path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-60s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "nouveau", unit);
+                continue;
+            }
+            double reference = before.path("primaryMetric").path("score").asDouble();
+            double change = reference == 0 ? 0 : (score - reference) / reference * 100;
+            // Débit : une baisse est une dégradation ; temps : une hausse est une dégradation
+            double degradation = "thrpt".equals(now.path("mode").asText()) ? -change : change;
+            boolean regressed = degradation > threshold;
+            regression |= regressed;
+            System.out.printf("%-60s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), reference, score, change,
+                    unit, regressed ? "  REGRESSION" : "");
+        }
+        System.exit(regression ? 1 : 0);
+    }
+
+    // Clé : benchmark, mode et paramètres triés
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String benchmark = result.path("benchmark").asText();
+            // Classe.méthode, sans le package
+            int method = benchmark.lastIndexOf('.');
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1))
+                    .append(" [").append(result.path("mode").asText());
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            params.forEach((name, value) -> key.append(", ").append(name).append('=').append(value));
+            results.put(key.append(']').toString(), result);
+        }
+        return results;
+    }
+}
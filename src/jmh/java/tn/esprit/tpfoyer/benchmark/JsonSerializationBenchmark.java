@@ -0,0 +1,125 @@
+package tn.esprit.tpfoyer.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tn.esprit.tpfoyer.config.JacksonConfig;
+import tn.esprit.tpfoyer.entity.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation de List&lt;Chambre&gt; et List&lt;Reservation&gt; comme le fait le convertisseur
+ * Jackson de Spring MVC : ObjectMapper par défaut (réflexion) contre ObjectMapper configuré par
+ * {@link JacksonConfig} (Blackbird).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    int size;
+
+    private List<Chambre> chambres;
+    private List<Reservation> reservations;
+
+    private ObjectMapper reflectionMapper;
+    private ObjectMapper blackbirdMapper;
+    private JavaType chambresType;
+    private JavaType reservationsType;
+
+    @Setup
+    public void setUp() {
+        reflectionMapper = Jackson2ObjectMapperBuilder.json().build();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().blackbirdCustomizer().customize(builder);
+        blackbirdMapper = builder.build();
+        chambresType = reflectionMapper.getTypeFactory().constructCollectionType(List.class, Chambre.class);
+        reservationsType = reflectionMapper.getTypeFactory().constructCollectionType(List.class, Reservation.class);
+
+        Random random = new Random(42);
+        Foyer foyer = new Foyer();
+        foyer.setIdFoyer(1L);
+        foyer.setNomFoyer("Foyer Benchmark");
+        foyer.setCapaciteFoyer(5000);
+        List<Bloc> blocs = new ArrayList<>();
+        for (int b = 0; b < 10; b++) {
+            Bloc bloc = new Bloc();
+            bloc.setIdBloc(b + 1);
+            bloc.setNomBloc("Bloc " + (char) ('A' + b));
+            bloc.setCapaciteBloc(500);
+            bloc.setFoyer(foyer);
+            blocs.add(bloc);
+        }
+
+        chambres = new ArrayList<>(size);
+        reservations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setIdReservation("2024-" + i);
+            reservation.setAnneeUniversitaire(new Date(1_700_000_000_000L + random.nextInt(1_000_000) * 1000L));
+            reservation.setEstValide(random.nextBoolean());
+            reservation.setEtudiants(Set.of());
+            reservations.add(reservation);
+
+            Chambre chambre = new Chambre();
+            chambre.setIdChambre(i + 1);
+            chambre.setNumeroChambre(100 + i);
+            chambre.setTypeC(TypeChambre.values()[i % TypeChambre.values().length]);
+            chambre.setBloc(blocs.get(i % blocs.size()));
+            chambre.setReservations(Set.of(reservation));
+            chambres.add(chambre);
+        }
+    }
+
+    @Benchmark
+    public long chambresReflection() throws IOException {
+        return write(reflectionMapper, chambresType, chambres);
+    }
+
+    @Benchmark
+    public long chambresBlackbird() throws IOException {
+        return write(blackbirdMapper, chambresType, chambres);
+    }
+
+    @Benchmark
+    public long reservationsReflection() throws IOException {
+        return write(reflectionMapper, reservationsType, reservations);
+    }
+
+    @Benchmark
+    public long reservationsBlackbird() throws IOException {
+        return write(blackbirdMapper, reservationsType, reservations);
+    }
+
+    // Même chemin que MappingJackson2HttpMessageConverter : writer typé, écriture en flux
+    private static long write(ObjectMapper mapper, JavaType type, Object value) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        ObjectWriter writer = mapper.writer().forType(type);
+        writer.writeValue(out, value);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
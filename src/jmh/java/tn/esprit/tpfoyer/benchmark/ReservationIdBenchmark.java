@@ -0,0 +1,101 @@
+package tn.esprit.tpfoyer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tn.esprit.tpfoyer.entity.Ulid;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insertions dans une table de réservations déjà remplie selon le format de la clé primaire :
+ * UUID aléatoire en VARCHAR (insertions dispersées dans l'index), ULID en CHAR(26) ou en
+ * BINARY(16) (insertions en fin d'index). H2 sur disque dans {@code target/benchmark} ; la taille
+ * de la table, index compris, est affichée en fin de mesure. Taille réelle sous MySQL : voir
+ * {@code scripts/reservation-ids-mysql.sql}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationIdBenchmark {
+
+    static final int BATCH = 100;
+
+    @Param({"uuid-varchar", "ulid-char", "ulid-binary"})
+    String format;
+
+    @Param({"200000"})
+    int rows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Date annee;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path directory = Files.createDirectories(Path.of("target", "benchmark"));
+        Path file = directory.resolve("reservation-ids-" + format);
+        Files.deleteIfExists(Path.of(file + ".mv.db"));
+        connection = DriverManager.getConnection("jdbc:h2:file:" + file.toAbsolutePath() + ";MODE=MySQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE reservation (id_reservation " + columnType()
+                    + " PRIMARY KEY, annee_universitaire DATE, est_valide BOOLEAN)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO reservation VALUES (?, ?, ?)");
+        annee = Date.valueOf(LocalDate.of(2024, 9, 15));
+        for (int i = 0; i < rows; i += BATCH) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*), DISK_SPACE_USED('RESERVATION') FROM reservation")) {
+            rs.next();
+            // Nombre de lignes variable d'un format à l'autre (débit) : comparer les octets par ligne
+            System.out.printf("%n%s : %d lignes, %d Ko, %.1f octets par ligne (table et index de clé primaire)%n",
+                    format, rs.getLong(1), rs.getLong(2) / 1024, (double) rs.getLong(2) / rs.getLong(1));
+        }
+        connection.close();
+    }
+
+    // Une transaction de BATCH insertions ; score en lignes par seconde
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH; i++) {
+            bindId();
+            insert.setDate(2, annee);
+            insert.setBoolean(3, false);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    private String columnType() {
+        return switch (format) {
+            case "uuid-varchar" -> "VARCHAR(255)";
+            case "ulid-char" -> "CHAR(" + Ulid.LENGTH + ")";
+            case "ulid-binary" -> "BINARY(16)";
+            default -> throw new IllegalArgumentException("Format inconnu : " + format);
+        };
+    }
+
+    private void bindId() throws SQLException {
+        switch (format) {
+            case "uuid-varchar" -> insert.setString(1, UUID.randomUUID().toString());
+            case "ulid-char" -> insert.setString(1, Ulid.next().toString());
+            default -> insert.setBytes(1, Ulid.next().toBytes());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package tn.esprit.tpfoyer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.tpfoyer.TpFoyerApplication;
+import tn.esprit.tpfoyer.datagen.DataGenerator;
+import tn.esprit.tpfoyer.datagen.DataGeneratorProperties;
+import tn.esprit.tpfoyer.entity.Bloc;
+import tn.esprit.tpfoyer.entity.Chambre;
+import tn.esprit.tpfoyer.service.BlocServiceImpl;
+import tn.esprit.tpfoyer.service.IChambreService;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chemins chauds de la couche service contre H2 en mémoire (profil test), appelés via les proxys
+ * Spring comme depuis les contrôleurs (transactions et ConfigAOP compris). Volumes d'un campus,
+ * générés par {@link DataGenerator} : 10 foyers, 100 blocs, {@code chambres} chambres, quatre
+ * années de réservations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceHotPathBenchmark {
+
+    static final int FOYERS = 10;
+    static final int BLOCS_PAR_FOYER = 10;
+
+    @Param({"5000"})
+    int chambres;
+
+    // Un bloc de 50 chambres compte environ 80 places
+    @Param({"80"})
+    long capaciteMin;
+
+    private ConfigurableApplicationContext context;
+    private BlocServiceImpl blocService;
+    private IChambreService chambreService;
+    private long[] cins;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TpFoyerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.tn.esprit.tpfoyer=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+        // Méthode absente de IBlocService : proxy CGLIB de la classe
+        blocService = context.getBean(BlocServiceImpl.class);
+        chambreService = context.getBean(IChambreService.class);
+        DataGeneratorProperties volumes = new DataGeneratorProperties();
+        volumes.setUniversites(FOYERS);
+        volumes.setBlocsPerFoyer(BLOCS_PAR_FOYER);
+        volumes.setChambresPerBloc(chambres / (FOYERS * BLOCS_PAR_FOYER));
+        volumes.setFirstAcademicYear(2021);
+        context.getBean(DataGenerator.class).generate(volumes);
+        cins = cins(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Bloc> retrieveBlocsSelonCapacite() {
+        return blocService.retrieveBlocsSelonCapacite(capaciteMin);
+    }
+
+    @Benchmark
+    public Chambre trouverChambreSelonEtudiant() {
+        long cin = cins[next];
+        next = (next + 1) % cins.length;
+        return chambreService.trouverchambreSelonEtudiant(cin);
+    }
+
+    // Étudiants logés, mélangés avec une graine fixe
+    private static long[] cins(JdbcTemplate jdbcTemplate) {
+        List<Long> cins = jdbcTemplate.queryForList("SELECT cin_etudiant FROM etudiant ORDER BY id_etudiant", Long.class);
+        Collections.shuffle(cins, new Random(42));
+        return cins.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,98 @@
+package tn.esprit.tpfoyer.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import tn.esprit.tpfoyer.datagen.DataGenerator;
+import tn.esprit.tpfoyer.datagen.DataGeneratorProperties;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tir de charge reproductible sur le serveur embarqué :
+ * {@code mvn -Ploadtest verify [-Dloadtest.rate=300 -Dloadtest.duration=60s -Dloadtest.mix=reservation:50,liste-blocs:50]
+ * [-Dloadtest.threads=virtual]}.
+ * Rapport dans {@code target/loadtest} ; échoue si un objectif de p99 est dépassé, si le taux
+ * d'erreurs dépasse {@code loadtest.max-error-rate} % ou si le p99 régresse de plus de
+ * {@code loadtest.max-regression} % par rapport à {@code -Dloadtest.baseline=<report.json>}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = LoadTestProfiles.class)
+@DisplayName("Tir de charge en modèle ouvert sur le mix d'endpoints")
+class EndpointMixLoadIT {
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointMixLoadIT.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private DataGeneratorProperties dataGeneratorProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void testEndpointMix() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        // -Dloadtest.threads=virtual sur Java < 21 reste sur des threads plateforme : le rapport note les deux
+        String threads = LoadTestSettings.threads();
+        boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+        if (threads.equals("virtual") && !virtualThreads) {
+            log.warn("Threads virtuels demandés mais Java {} < 21 : tir exécuté sur threads plateforme",
+                    Runtime.version().feature());
+        }
+        log.info("Jeu de données : {}", dataGenerator.generate(dataGeneratorProperties).rows());
+
+        long[] cins = jdbcTemplate.queryForList("SELECT cin_etudiant FROM etudiant", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        long[] etudiantIds = jdbcTemplate.queryForList("SELECT id_etudiant FROM etudiant", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        long[] chambreIds = jdbcTemplate.queryForList("SELECT id_chambre FROM chambre ORDER BY id_chambre", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        RequestCatalog catalog = new RequestCatalog(URI.create("http://localhost:" + port + "/tpfoyer"),
+                settings.requestTimeout(), cins, etudiantIds, chambreIds);
+        assertTrue(catalog.names().containsAll(settings.mix().keySet()),
+                "Requêtes connues : " + catalog.names() + ", mix : " + settings.mix().keySet());
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.requestTimeout())
+                .build();
+        OpenModelDriver driver = new OpenModelDriver(client, catalog, settings);
+        SplittableRandom random = new SplittableRandom(settings.seed());
+
+        log.info("Chauffe : {} à {} req/s", settings.warmup(), settings.ratePerSecond());
+        driver.run(settings.warmup(), random);
+        log.info("Mesure : {} à {} req/s, mix {}, threads {}", settings.duration(), settings.ratePerSecond(),
+                settings.mix(), virtualThreads ? "virtuels" : "plateforme");
+        Map<String, OpenModelDriver.Stats> stats = driver.run(settings.duration(), random);
+
+        LoadReport report = LoadReport.of(settings, threads, virtualThreads, stats);
+        report.write(settings.reportDirectory(), stats);
+        report.entries().forEach(e -> log.info("{} : {} requêtes, {} erreurs {}, {} abandons, p50 {} ms, p99 {} ms, max {} ms",
+                e.name(), e.requests(), e.errors(), e.outcomes(), e.dropped(), e.p50Ms(), e.p99Ms(), e.maxMs()));
+        log.info("Rapport : {}", settings.reportDirectory().resolve("report.html").toAbsolutePath());
+
+        assertTrue(report.violations().isEmpty(), String.join("\n", report.violations()));
+    }
+}
@@ -0,0 +1,165 @@
+package tn.esprit.tpfoyer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Résultat d'un tir : percentiles par requête du mix, objectifs de p99 et comparaison avec un
+ * rapport de référence. Écrit en JSON (réutilisable comme référence du tir suivant), en HTML et
+ * en distributions HdrHistogram ({@code .hgrm}, traçables avec le plotter HdrHistogram).
+ */
+record LoadReport(String date,
+                  String threads,
+                  boolean virtualThreadsActive,
+                  double ratePerSecond,
+                  long durationSeconds,
+                  Map<String, Integer> mix,
+                  List<Entry> entries,
+                  List<String> violations) {
+
+    /** Mesures d'une requête ; latences en millisecondes depuis l'arrivée prévue. */
+    record Entry(String name,
+                 long requests,
+                 long errors,
+                 long dropped,
+                 Map<String, Long> outcomes,
+                 double throughput,
+                 double p50Ms,
+                 double p90Ms,
+                 double p99Ms,
+                 double p999Ms,
+                 double maxMs,
+                 double meanServiceTimeMs,
+                 Double targetP99Ms,
+                 Double baselineP99Ms) {
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static LoadReport of(LoadTestSettings settings, String threads, boolean virtualThreadsActive,
+                         Map<String, OpenModelDriver.Stats> stats) throws IOException {
+        Map<String, Double> baseline = settings.baseline() == null ? Map.of() : baselineP99(settings.baseline());
+        List<Entry> entries = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        double seconds = settings.duration().toMillis() / 1000.0;
+
+        stats.forEach((name, s) -> {
+            Histogram latency = s.latency;
+            long requests = latency.getTotalCount();
+            long errors = s.errors.sum();
+            long dropped = s.dropped.sum();
+            Duration target = settings.p99Targets().get(name);
+            Map<String, Long> outcomes = new TreeMap<>();
+            s.outcomes.forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+            Entry entry = new Entry(name, requests, errors, dropped, outcomes, round(requests / seconds),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()), round(s.serviceTime.getMean() / 1_000_000),
+                    target == null ? null : (double) target.toMillis(), baseline.get(name));
+            entries.add(entry);
+
+            long attempts = requests + dropped;
+            double errorPercent = attempts == 0 ? 0 : 100.0 * (errors + dropped) / attempts;
+            if (errorPercent > settings.maxErrorPercent()) {
+                violations.add("%s : %.1f %% d'erreurs ou d'abandons (max %.1f %%)"
+                        .formatted(name, errorPercent, settings.maxErrorPercent()));
+            }
+            if (entry.targetP99Ms() != null && entry.p99Ms() > entry.targetP99Ms()) {
+                violations.add("%s : p99 %.1f ms > objectif %.0f ms".formatted(name, entry.p99Ms(), entry.targetP99Ms()));
+            }
+            Double reference = entry.baselineP99Ms();
+            if (reference != null && entry.p99Ms() > reference * (1 + settings.maxRegressionPercent() / 100)) {
+                violations.add("%s : p99 %.1f ms, régression de plus de %.0f %% sur la référence (%.1f ms)"
+                        .formatted(name, entry.p99Ms(), settings.maxRegressionPercent(), reference));
+            }
+        });
+
+        return new LoadReport(OffsetDateTime.now().toString(), threads, virtualThreadsActive, settings.ratePerSecond(),
+                settings.duration().toSeconds(), settings.mix(), entries, violations);
+    }
+
+    void write(Path directory, Map<String, OpenModelDriver.Stats> stats) throws IOException {
+        Files.createDirectories(directory);
+        MAPPER.writeValue(directory.resolve("report.json").toFile(), this);
+        for (var e : stats.entrySet()) {
+            Files.writeString(directory.resolve(e.getKey() + ".hgrm"), distribution(e.getValue().latency));
+        }
+        Files.writeString(directory.resolve("report.html"), html(stats));
+    }
+
+    private String html(Map<String, OpenModelDriver.Stats> stats) {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html lang="fr"><head><meta charset="utf-8"><title>Tir de charge tp-foyer</title>
+                <style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}
+                td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}td:first-child{text-align:left}
+                .ko{color:#b00020;font-weight:bold}pre{font-size:11px}</style></head><body>
+                """);
+        html.append("<h1>Tir de charge tp-foyer</h1><p>%s — %.0f req/s pendant %d s (modèle ouvert, arrivées de Poisson), threads %s%s, mix %s</p>"
+                .formatted(date, ratePerSecond, durationSeconds, threads,
+                        threads.equals("virtual") && !virtualThreadsActive ? " (inactifs, Java < 21)" : "", mix));
+        html.append(violations.isEmpty() ? "<p>Objectifs respectés.</p>" : "<ul class=\"ko\">");
+        violations.forEach(v -> html.append("<li>").append(escape(v)).append("</li>"));
+        if (!violations.isEmpty()) {
+            html.append("</ul>");
+        }
+        html.append("<table><tr><th>Requête</th><th>Requêtes</th><th>Erreurs</th><th>Abandons</th><th>Réponses</th><th>req/s</th>"
+                + "<th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th>"
+                + "<th>service moyen ms</th><th>objectif p99</th><th>référence p99</th></tr>");
+        for (Entry e : entries) {
+            boolean ko = violations.stream().anyMatch(v -> v.startsWith(e.name() + " :"));
+            html.append("<tr%s><td>%s</td><td>%d</td><td>%d</td><td>%d</td><td>%s</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%s</td><td>%s</td></tr>"
+                    .formatted(ko ? " class=\"ko\"" : "", escape(e.name()), e.requests(), e.errors(), e.dropped(),
+                            escape(e.outcomes().toString()), e.throughput(), e.p50Ms(), e.p90Ms(), e.p99Ms(), e.p999Ms(), e.maxMs(), e.meanServiceTimeMs(),
+                            e.targetP99Ms() == null ? "-" : "%.0f".formatted(e.targetP99Ms()),
+                            e.baselineP99Ms() == null ? "-" : "%.1f".formatted(e.baselineP99Ms())));
+        }
+        html.append("</table>");
+        stats.forEach((name, s) -> html.append("<h2>").append(escape(name)).append("</h2><pre>")
+                .append(escape(distribution(s.latency))).append("</pre>"));
+        return html.append("</body></html>\n").toString();
+    }
+
+    // Distribution des percentiles en millisecondes (format .hgrm)
+    private static String distribution(Histogram histogram) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        histogram.outputPercentileDistribution(new PrintStream(out, true, StandardCharsets.UTF_8), 5, 1_000_000.0);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Double> baselineP99(Path file) throws IOException {
+        Map<String, Double> p99 = new HashMap<>();
+        for (JsonNode entry : MAPPER.readTree(file.toFile()).path("entries")) {
+            p99.put(entry.path("name").asText(), entry.path("p99Ms").asDouble());
+        }
+        return p99;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,20 @@
+package tn.esprit.tpfoyer.loadtest;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+
+/**
+ * Profils du tir : {@code loadtest}, plus {@code virtual-threads} avec {@code -Dloadtest.threads=virtual}
+ * pour comparer les deux modes d'exécution sur le même mix.
+ */
+class LoadTestProfiles implements ActiveProfilesResolver {
+
+    @Override
+    public String[] resolve(Class<?> testClass) {
+        return switch (LoadTestSettings.threads()) {
+            case "virtual" -> new String[]{"loadtest", "virtual-threads"};
+            case "platform" -> new String[]{"loadtest"};
+            default -> throw new IllegalArgumentException(
+                    "loadtest.threads doit valoir virtual ou platform : " + LoadTestSettings.threads());
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package tn.esprit.tpfoyer.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Paramètres d'un tir, lus dans les propriétés système ({@code -Dloadtest.rate=200}) avec des
+ * valeurs par défaut modestes, et objectifs de p99 par requête ({@code loadtest-targets.properties},
+ * surchargeables par {@code -Dloadtest.target.<requête>=150ms}).
+ */
+record LoadTestSettings(long seed,
+                        double ratePerSecond,
+                        Duration warmup,
+                        Duration duration,
+                        int maxInFlight,
+                        Duration requestTimeout,
+                        Map<String, Integer> mix,
+                        Map<String, Duration> p99Targets,
+                        double maxErrorPercent,
+                        Path baseline,
+                        double maxRegressionPercent,
+                        Path reportDirectory) {
+
+    static final String DEFAULT_MIX =
+            "chambre-par-cin:35,etudiant-par-cin:20,reservation:15,liste-blocs:10,page-chambres:20";
+
+    /** Mode demandé par {@code -Dloadtest.threads} : {@code platform} (défaut) ou {@code virtual}. */
+    static String threads() {
+        return System.getProperty("loadtest.threads", "platform").trim();
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        Properties targets = new Properties();
+        try (var in = LoadTestSettings.class.getResourceAsStream("/loadtest-targets.properties")) {
+            if (in != null) {
+                targets.load(in);
+            }
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException("loadtest-targets.properties illisible", e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest.target."))
+                .forEach(name -> targets.setProperty(name.substring("loadtest.target.".length()), System.getProperty(name)));
+
+        Map<String, Duration> p99Targets = new LinkedHashMap<>();
+        targets.stringPropertyNames().stream().sorted()
+                .forEach(name -> p99Targets.put(name, duration(targets.getProperty(name))));
+
+        String baseline = System.getProperty("loadtest.baseline");
+        return new LoadTestSettings(
+                Long.getLong("loadtest.seed", 42),
+                Double.parseDouble(System.getProperty("loadtest.rate", "20")),
+                duration(System.getProperty("loadtest.warmup", "5s")),
+                duration(System.getProperty("loadtest.duration", "20s")),
+                Integer.getInteger("loadtest.max-in-flight", 200),
+                duration(System.getProperty("loadtest.request-timeout", "5s")),
+                mix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                p99Targets,
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "1")),
+                baseline == null || baseline.isBlank() ? null : Path.of(baseline),
+                Double.parseDouble(System.getProperty("loadtest.max-regression", "20")),
+                Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")));
+    }
+
+    // "chambre-par-cin:35,reservation:15" : nom de requête et poids relatif
+    static Map<String, Integer> mix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrée de mix invalide : " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(parts[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix de requêtes vide : " + value);
+        }
+        return mix;
+    }
+
+    // "250ms", "5s", "1m" ou ISO-8601, comme les propriétés Spring
+    static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value.trim());
+    }
+}
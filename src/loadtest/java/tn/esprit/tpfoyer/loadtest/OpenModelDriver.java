@@ -0,0 +1,141 @@
+package tn.esprit.tpfoyer.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur de charge en modèle ouvert : les arrivées suivent un processus de Poisson au débit
+ * demandé, qu'elles aient ou non reçu leur réponse. La latence est mesurée depuis l'instant
+ * d'arrivée prévu (et non l'envoi effectif) : un serveur saturé ou un ordonnanceur en retard se
+ * voit dans les percentiles au lieu d'être masqué (omission coordonnée).
+ * <p>
+ * Au-delà de {@code maxInFlight} requêtes en cours, les arrivées sont comptées comme abandonnées.
+ */
+final class OpenModelDriver {
+
+    // Latences enregistrées de 1 µs à 1 min, 3 chiffres significatifs
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(1);
+
+    /** Mesures d'une requête du mix sur une phase. */
+    static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(1_000, HIGHEST_TRACKABLE, 3);
+        final Histogram serviceTime = new ConcurrentHistogram(1_000, HIGHEST_TRACKABLE, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        // Code HTTP ou type d'exception -> nombre de réponses
+        final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    }
+
+    private final HttpClient client;
+    private final RequestCatalog catalog;
+    private final LoadTestSettings settings;
+    private final String[] names;
+    private final int[] cumulativeWeights;
+
+    OpenModelDriver(HttpClient client, RequestCatalog catalog, LoadTestSettings settings) {
+        this.client = client;
+        this.catalog = catalog;
+        this.settings = settings;
+        List<Map.Entry<String, Integer>> mix = List.copyOf(settings.mix().entrySet());
+        this.names = new String[mix.size()];
+        this.cumulativeWeights = new int[mix.size()];
+        int total = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            names[i] = mix.get(i).getKey();
+            total += mix.get(i).getValue();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /** Tire des arrivées pendant {@code duration} puis attend les réponses en cours. */
+    Map<String, Stats> run(Duration duration, SplittableRandom random) throws InterruptedException {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (String name : names) {
+            stats.put(name, new Stats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / settings.ratePerSecond();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+
+        while (true) {
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (intended >= end) {
+                break;
+            }
+            String name = pick(random);
+            var request = catalog.next(name, random);
+            Stats s = stats.get(name);
+            waitUntil(intended);
+
+            if (inFlight.get() >= settings.maxInFlight()) {
+                s.dropped.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long scheduledAt = intended;
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long now = System.nanoTime();
+                        s.latency.recordValue(Math.min(now - scheduledAt, HIGHEST_TRACKABLE));
+                        s.serviceTime.recordValue(Math.min(now - sentAt, HIGHEST_TRACKABLE));
+                        if (failure != null || response.statusCode() >= 400) {
+                            s.errors.increment();
+                        }
+                        String outcome = failure != null ? rootCause(failure).getClass().getSimpleName()
+                                : String.valueOf(response.statusCode());
+                        s.outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + settings.requestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    private String pick(SplittableRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return names[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static void waitUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package tn.esprit.tpfoyer.loadtest;
+
+import tn.esprit.tpfoyer.entity.TypeChambre;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+
+/**
+ * Requêtes du mix, par nom : lectures par CIN, réservations (écritures) et pages de listes. Les
+ * paramètres sont tirés parmi les données générées ; le tirage est fait par le thread
+ * d'ordonnancement seul, avec la graine du tir.
+ */
+final class RequestCatalog {
+
+    // Taille d'une page de chambres (lecture groupée par identifiants)
+    static final int PAGE_SIZE = 20;
+
+    private final URI base;
+    private final Duration timeout;
+    private final long[] cins;
+    private final long[] etudiantIds;
+    private final long[] chambreIds;
+
+    private final Map<String, BiFunction<RequestCatalog, SplittableRandom, HttpRequest.Builder>> requests = new LinkedHashMap<>();
+
+    RequestCatalog(URI base, Duration timeout, long[] cins, long[] etudiantIds, long[] chambreIds) {
+        this.base = base;
+        this.timeout = timeout;
+        this.cins = cins;
+        this.etudiantIds = etudiantIds;
+        this.chambreIds = chambreIds;
+        requests.put("chambre-par-cin", (c, r) -> c.get("/chambre/trouver-chambre-selon-etudiant/" + c.cin(r)));
+        requests.put("etudiant-par-cin", (c, r) -> c.get("/etudiant/retrieve-etudiant-cin/" + c.cin(r)));
+        requests.put("reservation", RequestCatalog::reservation);
+        requests.put("liste-blocs", (c, r) -> c.get("/bloc/retrieve-all-blocs"));
+        requests.put("page-chambres", RequestCatalog::pageChambres);
+        // Toutes les chambres d'un type : à n'inclure dans le mix que sur de petits jeux de données
+        requests.put("chambres-par-type", (c, r) ->
+                c.get("/chambre/trouver-chambres-selon-typ/" + TypeChambre.values()[r.nextInt(TypeChambre.values().length)]));
+    }
+
+    Set<String> names() {
+        return requests.keySet();
+    }
+
+    HttpRequest next(String name, SplittableRandom random) {
+        var factory = requests.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Requête inconnue : " + name + " (disponibles : " + names() + ")");
+        }
+        return factory.apply(this, random).timeout(timeout).build();
+    }
+
+    private long cin(SplittableRandom random) {
+        return cins[random.nextInt(cins.length)];
+    }
+
+    // PAGE_SIZE chambres consécutives à partir d'une position tirée
+    private HttpRequest.Builder pageChambres(SplittableRandom random) {
+        int from = random.nextInt(Math.max(1, chambreIds.length - PAGE_SIZE));
+        StringJoiner ids = new StringJoiner(",");
+        for (int i = from; i < Math.min(chambreIds.length, from + PAGE_SIZE); i++) {
+            ids.add(String.valueOf(chambreIds[i]));
+        }
+        return get("/chambre/retrieve-chambres?ids=" + ids);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(base.resolve(base.getPath() + path))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET();
+    }
+
+    // Nouvelle réservation pour un étudiant existant, identifiant généré par le serveur
+    private HttpRequest.Builder reservation(SplittableRandom random) {
+        String body = """
+                {"anneeUniversitaire":"%s","estValide":false,"etudiants":[{"idEtudiant":%d}]}"""
+                .formatted(LocalDate.now().withMonth(9).withDayOfMonth(15),
+                        etudiantIds[random.nextInt(etudiantIds.length)]);
+        return HttpRequest.newBuilder(base.resolve(base.getPath() + "/reservation/add-reservation"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+}
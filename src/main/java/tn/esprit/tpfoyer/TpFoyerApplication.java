@@ -5,12 +5,15 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import tn.esprit.tpfoyer.repository.ProjectingJpaRepository;
 
 
 @SpringBootApplication
 @EnableScheduling
 @EnableAspectJAutoProxy
+@EnableJpaRepositories(repositoryBaseClass = ProjectingJpaRepository.class)
 public class TpFoyerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,40 @@
+package tn.esprit.tpfoyer.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Archive froide des réservations des années passées (voir {@link ReservationArchive}).
+ */
+@Component
+@ConfigurationProperties(prefix = "tpfoyer.archive")
+@Getter
+@Setter
+public class ArchiveProperties {
+
+    // Répertoire des segments, lus au démarrage puis à chaque relecture
+    private Path directory = Path.of("archive");
+
+    // Relecture du répertoire : segments écrits depuis par le job d'archivage (autre processus)
+    private Duration rescanInterval = Duration.ofMinutes(1);
+
+    // Années gardées dans les tables, année en cours comprise ; les précédentes sont archivées
+    private int anneesEnLigne = 1;
+
+    // Taille brute d'un bloc compressé : plus grand compresse mieux, plus petit décompresse moins par lecture
+    private DataSize blockSize = DataSize.ofKilobytes(64);
+
+    // Niveau Deflate (1 = le plus rapide, 9 = le plus compact)
+    private int level = 6;
+
+    // Réservations lues par lot et écrites par segment : borne la mémoire de l'archivage d'une année
+    private int segmentSize = 100_000;
+    // Réservations supprimées des tables par transaction une fois le segment écrit
+    private int batchSize = 1000;
+}
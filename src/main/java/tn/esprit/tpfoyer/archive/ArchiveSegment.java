@@ -0,0 +1,415 @@
+package tn.esprit.tpfoyer.archive;
+
+import tn.esprit.tpfoyer.dto.ReservationArchivee;
+import tn.esprit.tpfoyer.dto.ReservationArchivee.ChambreArchivee;
+import tn.esprit.tpfoyer.dto.ReservationArchivee.EtudiantArchive;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.TypeChambre;
+import tn.esprit.tpfoyer.entity.Ulid;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segment d'archive : fichier écrit une fois (fichier temporaire puis renommage atomique), jamais
+ * modifié, lu par projection mémoire ({@link FileChannel#map}). Format, entiers big-endian :
+ * <pre>
+ * en-tête  MAGIC (int), VERSION (short)
+ * blocs    enregistrements concaténés, compressés (Deflate) par blocs de taille brute fixe
+ * index    blocs       : n, puis (position int, taille compressée int, taille brute int)
+ *          identifiants: n, puis (identifiant UTF-8 complété par des zéros sur {@value #ID_WIDTH} octets,
+ *                        référence long) triés octet par octet
+ *          CIN         : n, puis (cin long, référence long) triés par CIN, une entrée par étudiant
+ * pied     position de l'index (int), MAGIC (int)
+ * </pre>
+ * Une référence est {@code bloc << 32 | position dans le bloc décompressé}. Les entrées d'index sont
+ * de taille fixe : rien n'est copié sur le tas à l'ouverture, les recherches sont dichotomiques dans
+ * la projection ; une lecture décompresse le seul bloc de l'enregistrement. Un segment tient dans une
+ * projection (2 Go).
+ */
+final class ArchiveSegment {
+
+    static final String EXTENSION = ".seg";
+
+    private static final int MAGIC = 0x54504641; // "TPFA"
+    // 2 : index à entrées de taille fixe (1 : identifiants UTF de longueur variable)
+    private static final short VERSION = 2;
+    private static final int FOOTER = Integer.BYTES * 2;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    // Un ULID ; les anciens identifiants libres tiennent dans la colonne de même longueur
+    static final int ID_WIDTH = Ulid.LENGTH;
+    private static final int BLOCK_ENTRY = Integer.BYTES * 3;
+    private static final int ID_ENTRY = ID_WIDTH + Long.BYTES;
+    private static final int CIN_ENTRY = Long.BYTES * 2;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    // Positions dans la projection de la première entrée de chaque index
+    private final int blocks;
+    private final int ids;
+    private final int idCount;
+    private final int cins;
+    private final int cinCount;
+
+    private ArchiveSegment(Path file, MappedByteBuffer buffer, int blocks, int ids, int idCount, int cins, int cinCount) {
+        this.file = file;
+        this.buffer = buffer;
+        this.blocks = blocks;
+        this.ids = ids;
+        this.idCount = idCount;
+        this.cins = cins;
+        this.cinCount = cinCount;
+    }
+
+    static void write(Path file, List<ReservationArchivee> reservations, int blockSize, int level) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (CountingOutputStream counting = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)));
+             DataOutputStream out = new DataOutputStream(counting)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            List<int[]> blocks = new ArrayList<>();
+            List<IdEntry> byId = new ArrayList<>(reservations.size());
+            List<long[]> byCin = new ArrayList<>();
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(blockSize + 1024);
+            DataOutputStream record = new DataOutputStream(raw);
+            Deflater deflater = new Deflater(level);
+            try {
+                for (ReservationArchivee reservation : reservations) {
+                    long ref = (long) blocks.size() << 32 | raw.size();
+                    byte[] key = key(reservation.idReservation());
+                    if (key == null) {
+                        throw new IllegalArgumentException("Identifiant de plus de " + ID_WIDTH + " octets : "
+                                + reservation.idReservation());
+                    }
+                    byId.add(new IdEntry(key, ref));
+                    reservation.etudiants().forEach(e -> byCin.add(new long[] {e.cinEtudiant(), ref}));
+                    writeRecord(record, reservation);
+                    if (raw.size() >= blockSize) {
+                        blocks.add(writeBlock(out, counting, raw, deflater));
+                    }
+                }
+                if (raw.size() > 0) {
+                    blocks.add(writeBlock(out, counting, raw, deflater));
+                }
+            } finally {
+                deflater.end();
+            }
+
+            int indexPosition = counting.position();
+            out.writeInt(blocks.size());
+            for (int[] block : blocks) {
+                out.writeInt(block[0]);
+                out.writeInt(block[1]);
+                out.writeInt(block[2]);
+            }
+            byId.sort((a, b) -> Arrays.compareUnsigned(a.key(), b.key()));
+            out.writeInt(byId.size());
+            for (int i = 0; i < byId.size(); i++) {
+                IdEntry entry = byId.get(i);
+                if (i > 0 && Arrays.equals(entry.key(), byId.get(i - 1).key())) {
+                    throw new IllegalArgumentException("Réservation en double : "
+                            + new String(entry.key(), StandardCharsets.UTF_8).trim());
+                }
+                out.write(entry.key());
+                out.writeLong(entry.ref());
+            }
+            byCin.sort(Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]));
+            out.writeInt(byCin.size());
+            for (long[] entry : byCin) {
+                out.writeLong(entry[0]);
+                out.writeLong(entry[1]);
+            }
+            out.writeInt(indexPosition);
+            out.writeInt(MAGIC);
+            if (counting.overflow) {
+                throw new IOException("Segment de plus de 2 Go : archiver moins de réservations à la fois");
+            }
+        }
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static ArchiveSegment open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment trop grand : " + file);
+            }
+            // La projection reste valide après fermeture du canal
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = buffer.capacity();
+        if (size < Integer.BYTES + Short.BYTES + FOOTER || buffer.getInt(0) != MAGIC
+                || buffer.getInt(size - Integer.BYTES) != MAGIC) {
+            throw new IOException("Segment d'archive invalide : " + file);
+        }
+        if (buffer.getShort(Integer.BYTES) != VERSION) {
+            throw new IOException("Version " + buffer.getShort(Integer.BYTES) + " de segment d'archive non prise en charge : " + file);
+        }
+        // Index : trois tables (nombre, puis entrées de taille fixe) qui doivent finir au pied
+        int end = size - FOOTER;
+        int indexPosition = buffer.getInt(end);
+        long blockCount = count(buffer, indexPosition, end, file);
+        long idIndex = indexPosition + Integer.BYTES + blockCount * BLOCK_ENTRY;
+        long idCount = count(buffer, idIndex, end, file);
+        long cinIndex = idIndex + Integer.BYTES + idCount * ID_ENTRY;
+        long cinCount = count(buffer, cinIndex, end, file);
+        if (cinIndex + Integer.BYTES + cinCount * CIN_ENTRY != end) {
+            throw new IOException("Index du segment d'archive invalide : " + file);
+        }
+        return new ArchiveSegment(file, buffer, indexPosition + Integer.BYTES,
+                (int) idIndex + Integer.BYTES, (int) idCount, (int) cinIndex + Integer.BYTES, (int) cinCount);
+    }
+
+    // Nombre d'entrées d'une table de l'index, lu à position si elle est dans l'index
+    private static long count(ByteBuffer buffer, long position, int end, Path file) throws IOException {
+        int count = position >= Integer.BYTES + Short.BYTES && position + Integer.BYTES <= end
+                ? buffer.getInt((int) position) : -1;
+        if (count < 0) {
+            throw new IOException("Index du segment d'archive invalide : " + file);
+        }
+        return count;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int size() {
+        return idCount;
+    }
+
+    boolean contains(String idReservation) {
+        return search(idReservation) >= 0;
+    }
+
+    Optional<ReservationArchivee> find(String idReservation) {
+        int i = search(idReservation);
+        return i < 0 ? Optional.empty() : Optional.of(read(buffer.getLong(ids + i * ID_ENTRY + ID_WIDTH)));
+    }
+
+    List<ReservationArchivee> findByCin(long cin) {
+        List<ReservationArchivee> found = new ArrayList<>();
+        for (int i = lowerBound(cin); i < cinCount && cinAt(i) == cin; i++) {
+            found.add(read(buffer.getLong(cins + i * CIN_ENTRY + Long.BYTES)));
+        }
+        return found;
+    }
+
+    // Recherche dichotomique dans l'index des identifiants, lu dans la projection (lectures absolues)
+    private int search(String idReservation) {
+        byte[] key = key(idReservation);
+        if (key == null) {
+            return -1;
+        }
+        int low = 0;
+        int high = idCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareId(mid, key);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareId(int entry, byte[] key) {
+        int position = ids + entry * ID_ENTRY;
+        for (int i = 0; i < ID_WIDTH; i++) {
+            int comparison = Byte.compareUnsigned(buffer.get(position + i), key[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private long cinAt(int entry) {
+        return buffer.getLong(cins + entry * CIN_ENTRY);
+    }
+
+    private int lowerBound(long cin) {
+        int low = 0;
+        int high = cinCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cinAt(mid) < cin) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Clé de l'index : UTF-8 complété par des zéros ; null si l'identifiant n'y tient pas
+    private static byte[] key(String idReservation) {
+        byte[] bytes = idReservation.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > ID_WIDTH ? null : Arrays.copyOf(bytes, ID_WIDTH);
+    }
+
+    private ReservationArchivee read(long ref) {
+        int block = (int) (ref >>> 32);
+        byte[] raw = inflate(block);
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw, (int) ref, raw.length - (int) ref));
+            return readRecord(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Segment d'archive illisible : " + file, e);
+        }
+    }
+
+    private byte[] inflate(int block) {
+        int entry = blocks + block * BLOCK_ENTRY;
+        byte[] raw = new byte[buffer.getInt(entry + Integer.BYTES * 2)];
+        Inflater inflater = new Inflater();
+        try {
+            // Vue propre à la lecture : les lectures concurrentes ne partagent aucune position
+            inflater.setInput(buffer.slice(buffer.getInt(entry), buffer.getInt(entry + Integer.BYTES)));
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, raw.length - length);
+                // Bloc tronqué (entrée épuisée) ou flux inattendu : inflate() rendrait 0 indéfiniment
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw corrupted(block, null);
+                }
+                length += n;
+            }
+            // Flux terminé avant la taille brute de l'index
+            if (length != raw.length) {
+                throw corrupted(block, null);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw corrupted(block, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private UncheckedIOException corrupted(int block, Exception cause) {
+        return new UncheckedIOException(new IOException("Bloc " + block + " corrompu dans " + file, cause));
+    }
+
+    // Bloc : [position, taille compressée, taille brute]
+    private static int[] writeBlock(DataOutputStream out, CountingOutputStream counting, ByteArrayOutputStream raw,
+                                    Deflater deflater) throws IOException {
+        int position = counting.position();
+        byte[] bytes = raw.toByteArray();
+        deflater.reset();
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        raw.reset();
+        return new int[] {position, counting.position() - position, bytes.length};
+    }
+
+    private static void writeRecord(DataOutputStream out, ReservationArchivee r) throws IOException {
+        out.writeUTF(r.idReservation());
+        out.writeLong(r.anneeUniversitaire() == null ? NULL_DATE : r.anneeUniversitaire().getTime());
+        out.writeShort(r.anneeAcademique() == null ? 0 : r.anneeAcademique().rentree());
+        out.writeBoolean(r.estValide());
+        out.writeBoolean(r.chambre() != null);
+        if (r.chambre() != null) {
+            out.writeLong(r.chambre().idChambre());
+            out.writeLong(r.chambre().numeroChambre());
+            writeNullable(out, r.chambre().typeC() == null ? null : r.chambre().typeC().name());
+        }
+        out.writeShort(r.etudiants().size());
+        for (EtudiantArchive e : r.etudiants()) {
+            out.writeLong(e.idEtudiant());
+            out.writeLong(e.cinEtudiant());
+            writeNullable(out, e.nomEtudiant());
+            writeNullable(out, e.prenomEtudiant());
+        }
+    }
+
+    private static ReservationArchivee readRecord(DataInputStream in) throws IOException {
+        String id = in.readUTF();
+        long date = in.readLong();
+        short annee = in.readShort();
+        boolean valide = in.readBoolean();
+        ChambreArchivee chambre = null;
+        if (in.readBoolean()) {
+            long idChambre = in.readLong();
+            long numero = in.readLong();
+            String type = readNullable(in);
+            chambre = new ChambreArchivee(idChambre, numero, type == null ? null : TypeChambre.valueOf(type));
+        }
+        int count = in.readShort();
+        List<EtudiantArchive> etudiants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            etudiants.add(new EtudiantArchive(in.readLong(), in.readLong(), readNullable(in), readNullable(in)));
+        }
+        return new ReservationArchivee(id, date == NULL_DATE ? null : new Date(date),
+                annee == 0 ? null : AnneeAcademique.of(annee), valide, chambre, etudiants);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private record IdEntry(byte[] key, long ref) {
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+        private boolean overflow;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        int position() {
+            return (int) count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            advance(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            advance(len);
+        }
+
+        private void advance(int len) {
+            count += len;
+            overflow |= count > Integer.MAX_VALUE;
+        }
+    }
+}
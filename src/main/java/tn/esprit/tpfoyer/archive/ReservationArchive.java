@@ -0,0 +1,283 @@
+package tn.esprit.tpfoyer.archive;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tn.esprit.tpfoyer.dto.ReservationArchivee;
+import tn.esprit.tpfoyer.dto.ReservationArchivee.ChambreArchivee;
+import tn.esprit.tpfoyer.dto.ReservationArchivee.EtudiantArchive;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.TypeChambre;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.Date;
+import java.util.stream.Stream;
+
+/**
+ * Archive froide des réservations des années passées : une année archivée est copiée dans un
+ * nouveau segment ({@link ArchiveSegment}, compressé, indexé par identifiant et par CIN) puis
+ * supprimée des tables. L'année est lue par lots de {@code tpfoyer.archive.segment-size}
+ * réservations, dans l'ordre des identifiants, un segment par lot : la mémoire de l'archivage ne
+ * dépend pas de la taille de l'année. Les segments ne sont jamais réécrits : archiver de nouveau
+ * une année ajoute des segments, les réservations déjà archivées n'étant que supprimées des tables.
+ * <p>
+ * Lecture seule par ailleurs : les segments du répertoire sont ouverts au démarrage et projetés en
+ * mémoire, les lectures ne passent pas par la base. Le répertoire est relu toutes les
+ * {@code tpfoyer.archive.rescan-interval} : les segments écrits par le job d'archivage (profil
+ * archive-reservations, autre processus) sont ouverts sans redémarrer l'application.
+ */
+@Component
+@Slf4j
+public class ReservationArchive {
+
+    public record ArchiveReport(AnneeAcademique annee, long archived, long removed, List<Path> segments, long bytes,
+                                Duration duration) {
+    }
+
+    private static final String RESERVATIONS = "SELECT r.id_reservation, r.annee_universitaire, r.annee_academique, "
+            + "r.est_valide, ch.id_chambre, ch.numero_chambre, ch.typec FROM reservation r "
+            + "LEFT JOIN chambre_reservations cr ON cr.reservations_id_reservation = r.id_reservation "
+            + "LEFT JOIN chambre ch ON ch.id_chambre = cr.chambre_id_chambre "
+            + "WHERE r.annee_academique = ? AND r.id_reservation > ? ORDER BY r.id_reservation LIMIT ?";
+
+    // Étudiants des réservations d'un lot (bornes : premier et dernier identifiant du lot)
+    private static final String ETUDIANTS = "SELECT re.reservations_id_reservation, e.id_etudiant, e.cin_etudiant, "
+            + "e.nom_etudiant, e.prenom_etudiant FROM reservation_etudiants re "
+            + "JOIN etudiant e ON e.id_etudiant = re.etudiants_id_etudiant "
+            + "JOIN reservation r ON r.id_reservation = re.reservations_id_reservation "
+            + "WHERE r.annee_academique = ? AND r.id_reservation BETWEEN ? AND ? ORDER BY e.id_etudiant";
+
+    // Dans l'ordre des clés étrangères ; les alias d'identifiants restent, pour relire l'archive
+    private static final List<String> DELETES = List.of(
+            "DELETE FROM chambre_reservations WHERE reservations_id_reservation = ?",
+            "DELETE FROM reservation_etudiants WHERE reservations_id_reservation = ?",
+            "DELETE FROM reservation WHERE id_reservation = ?");
+
+    private final DataSource dataSource;
+    private final ArchiveProperties properties;
+
+    // Dans l'ordre des noms (année, puis numéro) ; remplacée en entier à chaque nouveau segment
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    public ReservationArchive(DataSource dataSource, ArchiveProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    /** (Re)lit les segments du répertoire, dans l'ordre de leurs noms ; seuls les nouveaux sont ouverts. */
+    @PostConstruct
+    public synchronized void reload() {
+        Path directory = properties.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            segments = List.of();
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            Map<Path, ArchiveSegment> current = new HashMap<>();
+            segments.forEach(segment -> current.put(segment.file(), segment));
+            List<ArchiveSegment> opened = new ArrayList<>();
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(ArchiveSegment.EXTENSION)).sorted().toList()) {
+                ArchiveSegment segment = current.get(file);
+                opened.add(segment != null ? segment : ArchiveSegment.open(file));
+            }
+            if (!opened.equals(segments)) {
+                segments = List.copyOf(opened);
+                log.info("Archive des réservations : {} segments, {} réservations", opened.size(),
+                        opened.stream().mapToLong(ArchiveSegment::size).sum());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archive des réservations illisible : " + directory, e);
+        }
+    }
+
+    // Segments ajoutés (ou retirés) par un autre processus depuis la dernière lecture
+    @Scheduled(fixedDelayString = "#{@archiveProperties.rescanInterval.toMillis()}",
+            initialDelayString = "#{@archiveProperties.rescanInterval.toMillis()}")
+    public void rescan() {
+        reload();
+    }
+
+    public Optional<ReservationArchivee> find(String idReservation) {
+        List<ArchiveSegment> current = segments;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            Optional<ReservationArchivee> found = current.get(i).find(idReservation);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<ReservationArchivee> findByCin(long cin) {
+        List<ReservationArchivee> found = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            found.addAll(segment.findByCin(cin));
+        }
+        return found;
+    }
+
+    /** Archive les années sorties de la fenêtre {@code anneesEnLigne}, de la plus ancienne à la plus récente. */
+    public List<ArchiveReport> archiverAnneesPassees() {
+        int limite = AnneeAcademique.courante().rentree() - properties.getAnneesEnLigne() + 1;
+        List<ArchiveReport> reports = new ArrayList<>();
+        for (int rentree : anneesEnLigne()) {
+            if (rentree < limite) {
+                reports.add(archiver(AnneeAcademique.of(rentree)));
+            }
+        }
+        return reports;
+    }
+
+    public synchronized ArchiveReport archiver(AnneeAcademique annee) {
+        if (annee.compareTo(AnneeAcademique.courante()) >= 0) {
+            throw new IllegalArgumentException("Seules les années passées sont archivées : " + annee);
+        }
+        long start = System.nanoTime();
+        // Segments d'un autre processus : ni en double, ni écrasés par le numéro du nouveau segment
+        reload();
+        List<Path> written = new ArrayList<>();
+        long archived = 0;
+        long removed = 0;
+        long bytes = 0;
+        String after = "";
+        List<ReservationArchivee> lot;
+        while (!(lot = reservations(annee, after)).isEmpty()) {
+            after = lot.get(lot.size() - 1).idReservation();
+            List<ReservationArchivee> nouvelles = lot.stream()
+                    .filter(r -> segments.stream().noneMatch(s -> s.contains(r.idReservation())))
+                    .toList();
+            if (!nouvelles.isEmpty()) {
+                Path segment = write(annee, nouvelles);
+                written.add(segment);
+                archived += nouvelles.size();
+                try {
+                    bytes += Files.size(segment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Segment d'archive illisible : " + segment, e);
+                }
+            }
+            // Segment du lot écrit et synchronisé sur disque : ses réservations peuvent quitter les tables
+            delete(lot.stream().map(ReservationArchivee::idReservation).toList());
+            removed += lot.size();
+        }
+
+        ArchiveReport report = new ArchiveReport(annee, archived, removed, List.copyOf(written), bytes,
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Année {} archivée en {} ms : {} réservations ({} octets, {} segments), {} supprimées des tables",
+                annee, report.duration().toMillis(), report.archived(), report.bytes(), written.size(), report.removed());
+        return report;
+    }
+
+    private Path write(AnneeAcademique annee, List<ReservationArchivee> reservations) {
+        try {
+            Files.createDirectories(properties.getDirectory());
+            Path segment = properties.getDirectory().resolve("reservations-%s-%05d%s"
+                    .formatted(annee, segments.size() + 1, ArchiveSegment.EXTENSION));
+            ArchiveSegment.write(segment, reservations, (int) properties.getBlockSize().toBytes(), properties.getLevel());
+            List<ArchiveSegment> updated = new ArrayList<>(segments);
+            updated.add(ArchiveSegment.open(segment));
+            segments = List.copyOf(updated);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du segment d'archive " + annee + " impossible", e);
+        }
+    }
+
+    private List<Integer> anneesEnLigne() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT DISTINCT annee_academique FROM reservation "
+                     + "WHERE annee_academique > 0 ORDER BY annee_academique")) {
+            List<Integer> annees = new ArrayList<>();
+            while (rs.next()) {
+                annees.add(rs.getInt(1));
+            }
+            return annees;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Lecture des années universitaires impossible", e);
+        }
+    }
+
+    // Un lot de l'année, après l'identifiant after : réservations et chambre, puis leurs étudiants
+    private List<ReservationArchivee> reservations(AnneeAcademique annee, String after) {
+        try (Connection connection = dataSource.getConnection()) {
+            List<ReservationArchivee> reservations = new ArrayList<>();
+            // Listes des étudiants de chaque réservation du lot, remplies par la seconde requête
+            Map<String, List<EtudiantArchive>> etudiants = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(RESERVATIONS)) {
+                statement.setShort(1, (short) annee.rentree());
+                statement.setString(2, after);
+                statement.setInt(3, properties.getSegmentSize());
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        String id = rs.getString(1);
+                        Timestamp date = rs.getTimestamp(2);
+                        long idChambre = rs.getLong(5);
+                        ChambreArchivee chambre = rs.wasNull() ? null : new ChambreArchivee(idChambre, rs.getLong(6),
+                                rs.getString(7) == null ? null : TypeChambre.valueOf(rs.getString(7)));
+                        List<EtudiantArchive> liste = new ArrayList<>(1);
+                        etudiants.put(id, liste);
+                        reservations.add(new ReservationArchivee(id, date == null ? null : new Date(date.getTime()),
+                                annee, rs.getBoolean(4), chambre, liste));
+                    }
+                }
+            }
+            if (reservations.isEmpty()) {
+                return reservations;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(ETUDIANTS)) {
+                statement.setShort(1, (short) annee.rentree());
+                statement.setString(2, reservations.get(0).idReservation());
+                statement.setString(3, reservations.get(reservations.size() - 1).idReservation());
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        List<EtudiantArchive> liste = etudiants.get(rs.getString(1));
+                        if (liste != null) {
+                            liste.add(new EtudiantArchive(rs.getLong(2), rs.getLong(3), rs.getString(4), rs.getString(5)));
+                        }
+                    }
+                }
+            }
+            return reservations;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Lecture des réservations " + annee + " impossible", e);
+        }
+    }
+
+    private void delete(List<String> ids) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+                    List<String> batch = ids.subList(from, Math.min(ids.size(), from + properties.getBatchSize()));
+                    for (String sql : DELETES) {
+                        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                            for (String id : batch) {
+                                statement.setString(1, id);
+                                statement.addBatch();
+                            }
+                            statement.executeBatch();
+                        }
+                    }
+                    connection.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Suppression des réservations archivées impossible", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package tn.esprit.tpfoyer.archive;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profil archive-reservations (voir application-archive-reservations.properties) : archive les
+ * années passées puis arrête l'application.
+ */
+@Component
+@Profile("archive-reservations")
+public class ReservationArchiveRunner implements ApplicationRunner {
+
+    private final ReservationArchive archive;
+    private final ConfigurableApplicationContext context;
+
+    public ReservationArchiveRunner(ReservationArchive archive, ConfigurableApplicationContext context) {
+        this.archive = archive;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        archive.archiverAnneesPassees();
+        // Les pools de threads (scheduling, tableau de bord) garderaient la JVM en vie
+        System.exit(SpringApplication.exit(context));
+    }
+}
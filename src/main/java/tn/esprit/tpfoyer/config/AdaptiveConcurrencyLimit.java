@@ -0,0 +1,78 @@
+package tn.esprit.tpfoyer.config;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concurrence à gradient : la limite suit le rapport entre la latence de référence
+ * (moyenne longue) et la latence récente (moyenne courte). Quand la latence récente monte, la
+ * limite baisse ; quand elle reste proche de la référence et que la limite est atteinte, la
+ * limite augmente d'environ sa racine carrée.
+ * <p>
+ * Lue à chaque requête sans verrou ; un échantillon arrivant pendant qu'un autre est pris en
+ * compte est ignoré plutôt qu'attendu (pas de moniteur global, pas de thread virtuel épinglé).
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW_ALPHA = 0.1;
+    private static final double LONG_WINDOW_ALPHA = 1 / 600d;
+    // Après une surcharge, la référence peut rester au-dessus de la latence récente
+    private static final double MAX_DRIFT = 2.0;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile double limit;
+    // Protégées par sampleLock
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public void onSample(long rttNanos, int inFlight) {
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, inFlight);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlight) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_WINDOW_ALPHA;
+        longRtt += (rttNanos - longRtt) * LONG_WINDOW_ALPHA;
+        if (longRtt / shortRtt > MAX_DRIFT) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double estimate = current * gradient + Math.sqrt(current);
+        // Sans saturation, la latence ne dit rien de la capacité : on ne monte pas
+        if (estimate > current && inFlight < current / 2) {
+            return;
+        }
+        double next = current * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
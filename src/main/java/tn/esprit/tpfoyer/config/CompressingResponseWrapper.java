@@ -0,0 +1,316 @@
+package tn.esprit.tpfoyer.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponse compressée par {@link CompressionFilter}. Le corps est gardé en mémoire jusqu'au seuil :
+ * la décision (gzip ou non) est prise au dépassement, ou à la fin du corps s'il reste plus petit.
+ * Une fois la compression commencée, chaque flush vide le deflater (SYNC_FLUSH) vers le client.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final List<MimeType> mimeTypes;
+    private final int threshold;
+    private final int bufferSize;
+    private final int level;
+
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private boolean decided;
+    private OutputStream target;
+    private GZIPOutputStream gzip;
+    // Mémoire native de zlib : GZIPOutputStream.finish() ne la libère pas, seul close() le ferait
+    private Deflater deflater;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    @Getter
+    private boolean compressed;
+    // Motif de non-compression (size, content-type, already-encoded), null si compressé ou sans corps
+    @Getter
+    private String skipReason;
+    @Getter
+    private long bytesIn;
+    @Getter
+    private long bytesOut;
+    @Getter
+    private long compressionNanos;
+
+    CompressingResponseWrapper(HttpServletResponse response, List<MimeType> mimeTypes, int threshold,
+                               int bufferSize, int level) {
+        super(response);
+        this.mimeTypes = mimeTypes;
+        this.threshold = threshold;
+        this.bufferSize = bufferSize;
+        this.level = level;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    // La longueur annoncée par l'application ne vaut que pour le corps non compressé
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (decided && !compressed) {
+            super.setContentLengthLong(len);
+        } else {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        flushBody();
+        if (decided) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (!decided) {
+            pending.reset();
+            bytesIn = 0;
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        contentLength = -1;
+        super.reset();
+    }
+
+    /**
+     * Fin du corps : envoie ce qui reste en tampon et termine le flux gzip.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (!decided) {
+            if (pending.size() == 0) {
+                decided = true;
+                return;
+            }
+            decide(false);
+        }
+        if (gzip != null) {
+            long start = cpuTime();
+            try {
+                gzip.finish();
+            } finally {
+                release();
+            }
+            compressionNanos += cpuTime() - start;
+        }
+    }
+
+    /**
+     * Libère le compresseur, y compris quand le corps n'a pas pu être terminé (exception pendant la
+     * requête). Sans effet s'il est déjà libéré ou si la réponse n'est pas compressée.
+     */
+    void release() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        bytesIn += len;
+        if (!decided) {
+            pending.write(b, off, len);
+            if (pending.size() >= threshold) {
+                decide(true);
+            }
+            return;
+        }
+        writeTarget(b, off, len);
+    }
+
+    private void flushBody() throws IOException {
+        if (!decided) {
+            // Type connu et non compressible : inutile de retenir le corps ; sinon le flush attend le seuil
+            if (getContentType() == null || compressible()) {
+                return;
+            }
+            decide(true);
+        }
+        if (gzip != null) {
+            long start = cpuTime();
+            gzip.flush();
+            compressionNanos += cpuTime() - start;
+        } else {
+            target.flush();
+        }
+    }
+
+    private void decide(boolean largeEnough) throws IOException {
+        decided = true;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (!largeEnough) {
+            skipReason = "size";
+        } else if (!compressible()) {
+            skipReason = "content-type";
+        } else if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || response.getStatus() == HttpStatus.PARTIAL_CONTENT.value()) {
+            skipReason = "already-encoded";
+        }
+        OutputStream raw = response.getOutputStream();
+        if (skipReason == null) {
+            compressed = true;
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, CompressionFilter.GZIP);
+            gzip = new GZIPOutputStream(new CountingOutputStream(raw), bufferSize, true) {
+                {
+                    def.setLevel(level);
+                    deflater = def;
+                }
+            };
+        } else {
+            // Corps complet en tampon : sa longueur est connue, pas besoin de chunked
+            super.setContentLengthLong(largeEnough ? contentLength : pending.size());
+            target = raw;
+        }
+        byte[] buffered = pending.toByteArray();
+        pending = null;
+        writeTarget(buffered, 0, buffered.length);
+    }
+
+    private void writeTarget(byte[] b, int off, int len) throws IOException {
+        if (gzip != null) {
+            long start = cpuTime();
+            gzip.write(b, off, len);
+            compressionNanos += cpuTime() - start;
+        } else {
+            target.write(b, off, len);
+        }
+    }
+
+    private boolean compressible() {
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        MimeType mimeType = MimeTypeUtils.parseMimeType(contentType);
+        return mimeTypes.stream().anyMatch(allowed -> allowed.includes(mimeType));
+    }
+
+    // Temps CPU du thread, ou temps écoulé si indisponible (threads virtuels)
+    private static long cpuTime() {
+        long cpu = THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+        return cpu >= 0 ? cpu : System.nanoTime();
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            CompressingResponseWrapper.this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            CompressingResponseWrapper.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBody();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Écriture non bloquante non supportée");
+        }
+    }
+
+    private final class CountingOutputStream extends FilterOutputStream {
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytesOut++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytesOut += len;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package tn.esprit.tpfoyer.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresse en gzip les réponses des clients qui l'acceptent, au fil de l'écriture : le corps est
+ * mis en tampon jusqu'au seuil {@code min-response-size}, puis compressé en flux (les flush des
+ * endpoints streamés sont propagés au client). Métriques {@code tpfoyer.compression.*} : taux de
+ * compression et temps CPU par endpoint, octets avant/après, réponses non compressées par motif.
+ * <p>
+ * Brotli n'a pas d'encodeur dans le JDK : seul gzip est négocié.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class CompressionFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+
+    private final CompressionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<MimeType> mimeTypes;
+
+    public CompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.mimeTypes = properties.getMimeTypes().stream().map(MimeTypeUtils::parseMimeType).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    // Les endpoints asynchrones (StreamingResponseBody, SseEmitter) finissent dans le dispatch ASYNC
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+            try {
+                chain.doFilter(request, response);
+                if (wrapper != null && !request.isAsyncStarted()) {
+                    finish(request, wrapper);
+                }
+            } finally {
+                if (wrapper != null && !request.isAsyncStarted()) {
+                    wrapper.release();
+                }
+            }
+            return;
+        }
+        // Les caches intermédiaires doivent distinguer les variantes, même si celle-ci n'est pas compressée
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(request)) {
+            skipped("encoding");
+            chain.doFilter(request, response);
+            return;
+        }
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, mimeTypes,
+                (int) properties.getMinResponseSize().toBytes(), (int) properties.getBufferSize().toBytes(),
+                properties.getLevel());
+        try {
+            chain.doFilter(request, wrapper);
+            if (!request.isAsyncStarted()) {
+                finish(request, wrapper);
+            }
+        } finally {
+            // Requête en échec : le corps n'est pas terminé mais le Deflater doit être libéré
+            if (!request.isAsyncStarted()) {
+                wrapper.release();
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request, CompressingResponseWrapper wrapper) throws IOException {
+        wrapper.finish();
+        if (!wrapper.isCompressed()) {
+            if (wrapper.getSkipReason() != null) {
+                skipped(wrapper.getSkipReason());
+            }
+            return;
+        }
+        String endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                ? SqlBudgetFilter.endpoint(handler) : "other";
+        long in = wrapper.getBytesIn();
+        long out = wrapper.getBytesOut();
+        meterRegistry.counter("tpfoyer.compression.bytes", "stage", "in").increment(in);
+        meterRegistry.counter("tpfoyer.compression.bytes", "stage", "out").increment(out);
+        DistributionSummary.builder("tpfoyer.compression.ratio")
+                .description("Taille compressée / taille d'origine du corps des réponses")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(in == 0 ? 1.0 : (double) out / in);
+        Timer.builder("tpfoyer.compression.cpu")
+                .description("Temps CPU passé à compresser le corps d'une réponse")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(wrapper.getCompressionNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void skipped(String reason) {
+        meterRegistry.counter("tpfoyer.compression.skipped", "reason", reason).increment();
+    }
+
+    // gzip ou *, sans q=0
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (!StringUtils.hasText(header)) {
+            return false;
+        }
+        for (String value : StringUtils.commaDelimitedListToStringArray(header)) {
+            String[] parts = value.trim().split(";");
+            String coding = parts[0].trim();
+            if (!coding.equalsIgnoreCase(GZIP) && !coding.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,37 @@
+package tn.esprit.tpfoyer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compression gzip des réponses (voir {@link CompressionFilter}). La compression de Tomcat
+ * ({@code server.compression.*}) reste désactivée pour ne pas compresser deux fois.
+ */
+@Component
+@ConfigurationProperties(prefix = "tpfoyer.compression")
+@Getter
+@Setter
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    // En dessous, le corps est envoyé tel quel (l'en-tête gzip et le CPU ne valent pas le gain)
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    // Types compressés ; les formats déjà compacts ou compressés (images, zip) n'y figurent pas
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+            "application/json", "application/problem+json", "application/cbor",
+            "text/html", "text/plain", "text/css", "text/csv", "application/javascript"));
+
+    // Niveau zlib (1 = le plus rapide, 9 = le plus compact, 6 = défaut de zlib)
+    private int level = 6;
+
+    // Taille du tampon de sortie gzip
+    private DataSize bufferSize = DataSize.ofKilobytes(8);
+}
@@ -0,0 +1,111 @@
+package tn.esprit.tpfoyer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rejette en 503 les requêtes au-delà de la limite de concurrence adaptative, selon leur
+ * priorité. Placé après le filtre d'observation HTTP pour que les rejets restent mesurés.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum Priority { READ, WRITE, CRITICAL }
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limit = new AdaptiveConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getLatencyTolerance(), properties.getSmoothing());
+        Gauge.builder("tpfoyer.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Limite de concurrence adaptative courante")
+                .register(meterRegistry);
+        Gauge.builder("tpfoyer.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requêtes HTTP en cours de traitement")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = priority(request);
+        if (!tryAcquire(priority)) {
+            meterRegistry.counter("tpfoyer.concurrency.rejected", "priority", priority.name().toLowerCase()).increment();
+            log.debug("Requête {} {} rejetée : limite de concurrence {} atteinte",
+                    request.getMethod(), request.getRequestURI(), limit.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int current = inFlight.getAndDecrement();
+            limit.onSample(System.nanoTime() - start, current);
+        }
+    }
+
+    private boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit.getLimit() * share(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case READ -> properties.getReadShare();
+            case WRITE -> properties.getWriteShare();
+            case CRITICAL -> 1.0;
+        };
+    }
+
+    Priority priority(HttpServletRequest request) {
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            return Priority.READ;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : properties.getCriticalPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return Priority.CRITICAL;
+            }
+        }
+        return Priority.WRITE;
+    }
+}
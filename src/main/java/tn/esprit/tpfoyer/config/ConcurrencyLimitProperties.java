@@ -0,0 +1,42 @@
+package tn.esprit.tpfoyer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limite adaptative du nombre de requêtes HTTP simultanées. Chaque classe de priorité ne peut
+ * occuper qu'une part de la limite : les lectures sont rejetées en premier, les écritures de
+ * réservation ({@code critical-paths}) en dernier.
+ */
+@Component
+@ConfigurationProperties(prefix = "tpfoyer.concurrency-limit")
+@Getter
+@Setter
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    // Latence courte tolérée par rapport à la latence de référence avant de réduire la limite
+    private double latencyTolerance = 1.5;
+
+    // Poids de chaque nouvelle estimation de la limite (0..1)
+    private double smoothing = 0.2;
+
+    private double readShare = 0.75;
+
+    private double writeShare = 0.9;
+
+    // Écritures prioritaires : elles peuvent utiliser toute la limite
+    private List<String> criticalPaths = new ArrayList<>(List.of("/reservation/**"));
+}
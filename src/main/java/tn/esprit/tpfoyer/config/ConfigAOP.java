@@ -1,43 +1,91 @@
 package tn.esprit.tpfoyer.config;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @Aspect
 @Slf4j
 public class ConfigAOP {
 
-    @Before("execution(* tn.esprit.tpfoyer.service.*.*(..))")
-    public void logMethodEntry(JoinPoint joinPoint) {
-        String name = joinPoint.getSignature().getName();
-        log.info("In Metod AOP : " + name);
-    }
+    private static final String TIMER_NAME = "tpfoyer.service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final double traceSampleRate;
+
+    // Timers résolus une seule fois par méthode et par issue
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> errorTimers = new ConcurrentHashMap<>();
 
-    @After("execution(* tn.esprit.tpfoyer.service.*.add*(..))")
-    public void logMethodOut(JoinPoint joinPoint) {
-        String name = joinPoint.getSignature().getName();
-        log.info("Execution Réussie ! ");
+    public ConfigAOP(MeterRegistry meterRegistry,
+                     @Value("${tpfoyer.aop.trace-sample-rate:0.01}") double traceSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.traceSampleRate = traceSampleRate;
     }
 
     @Around("execution(* tn.esprit.tpfoyer.service.*.*(..))")
     public Object profile(ProceedingJoinPoint pjp) throws Throwable
     {
-        long start= System.currentTimeMillis();
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object obj = pjp.proceed();
+            success = true;
+            return obj;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+            timerFor(pjp, method, success).record(elapsed, TimeUnit.NANOSECONDS);
 
-        Object obj= pjp.proceed();
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = pjp.getTarget().getClass().getSimpleName();
+                event.method = method.getName();
+                event.success = success;
+                event.commit();
+            }
 
-        long elapsedTime= System.currentTimeMillis() -start;
+            if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < traceSampleRate) {
+                log.debug("{}.{} executed in {} ns (success={})",
+                        pjp.getTarget().getClass().getSimpleName(), method.getName(), elapsed, success);
+            }
+        }
+    }
+
+    private Timer timerFor(ProceedingJoinPoint pjp, Method method, boolean success) {
+        Map<Method, Timer> cache = success ? successTimers : errorTimers;
+        Timer timer = cache.get(method);
+        if (timer == null) {
+            String service = pjp.getTarget().getClass().getSimpleName();
+            timer = cache.computeIfAbsent(method, m -> timer(service, m, success ? "success" : "error"));
+        }
+        return timer;
+    }
 
-        log.info("Methodexecutiontime: " + elapsedTime+ " milliseconds.");
-        return obj;
+    private Timer timer(String service, Method method, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Temps d'exécution des méthodes de la couche service")
+                .tag("service", service)
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
 
@@ -0,0 +1,64 @@
+package tn.esprit.tpfoyer.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+@org.springframework.context.annotation.Configuration
+@Slf4j
+public class FlightRecorderConfig {
+
+    // Ajoute l'intercepteur JFR au proxy de chaque repository Spring Data
+    @Bean
+    public static BeanPostProcessor repositoryQueryEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new RepositoryQueryEventInterceptor(
+                                            repositoryInformation.getRepositoryInterface(),
+                                            repositoryInformation.getDomainType()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Recording continue (profil "jfr") : paramètres JDK "default" (< 1 % d'overhead) + événements TP Foyer
+    @Bean(destroyMethod = "close")
+    @Profile("jfr")
+    public Recording continuousRecording(@Value("${tpfoyer.jfr.settings:default}") String settings,
+                                         @Value("${tpfoyer.jfr.max-age:30m}") Duration maxAge,
+                                         @Value("${tpfoyer.jfr.max-size:250MB}") DataSize maxSize,
+                                         @Value("${tpfoyer.jfr.threshold:0ms}") Duration threshold)
+            throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("tp-foyer-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.enable(ServiceCallEvent.NAME).withThreshold(threshold);
+        recording.enable(RepositoryQueryEvent.NAME).withThreshold(threshold);
+        recording.start();
+        log.info("Recording JFR continue démarrée (settings={}, maxAge={}, maxSize={})", settings, maxAge, maxSize);
+        return recording;
+    }
+
+    @Bean
+    @Profile("jfr")
+    public FlightRecorderEndpoint flightRecorderEndpoint(@Value("${tpfoyer.jfr.dump-dir:${java.io.tmpdir}}") String dumpDir) {
+        return new FlightRecorderEndpoint(dumpDir);
+    }
+}
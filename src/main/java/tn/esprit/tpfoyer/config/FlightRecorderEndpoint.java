@@ -0,0 +1,51 @@
+package tn.esprit.tpfoyer.config;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Endpoint actuator {@code POST /actuator/jfr?minutes=N} (port de management) :
+ * écrit les N dernières minutes des recordings en cours dans un fichier .jfr.
+ */
+@Endpoint(id = "jfr")
+@Slf4j
+public class FlightRecorderEndpoint {
+
+    private static final DateTimeFormatter FILE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path dumpDir;
+
+    FlightRecorderEndpoint(String dumpDir) {
+        this.dumpDir = Paths.get(dumpDir);
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump(@Nullable Integer minutes) throws IOException {
+        Duration window = Duration.ofMinutes(minutes != null ? minutes : 5);
+        Files.createDirectories(dumpDir);
+        Path file = dumpDir.resolve("tp-foyer-" + LocalDateTime.now().format(FILE_SUFFIX) + ".jfr");
+
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            if (snapshot.getSize() == 0) {
+                return Map.of("dumped", false, "reason", "aucune donnée JFR disponible");
+            }
+            snapshot.setMaxAge(window);
+            snapshot.dump(file);
+        }
+        log.info("Dump JFR ({} dernières minutes) écrit dans {}", window.toMinutes(), file);
+        return Map.of("dumped", true, "file", file.toAbsolutePath().toString(), "minutes", window.toMinutes());
+    }
+}
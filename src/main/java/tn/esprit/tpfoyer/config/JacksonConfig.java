@@ -0,0 +1,97 @@
+package tn.esprit.tpfoyer.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import tn.esprit.tpfoyer.dto.FoyerDashboard;
+import tn.esprit.tpfoyer.dto.ReservationArchivee;
+import tn.esprit.tpfoyer.entity.*;
+
+import java.util.List;
+
+/**
+ * Sérialisation JSON des grandes listes renvoyées par les endpoints retrieve-all-* : accesseurs
+ * générés par Blackbird au lieu de la réflexion, sérialiseurs construits au démarrage plutôt qu'à
+ * la première requête. Le convertisseur Spring écrit déjà directement dans le flux de la réponse
+ * avec les buffers recyclés de Jackson.
+ * <p>
+ * Les clients en masse peuvent négocier CBOR ou Smile (en lecture comme en écriture) : mêmes
+ * payloads, encodage binaire plus compact.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfig {
+
+    // Types renvoyés par les contrôleurs, seuls ou en liste
+    static final List<Class<?>> RESPONSE_TYPES = List.of(Bloc.class, Chambre.class, Etudiant.class, Foyer.class,
+            Reservation.class, Universite.class, FoyerDashboard.class, ReservationArchivee.class);
+
+    // Buffers disponibles dans le pool partagé (au-delà, ils sont alloués puis abandonnés)
+    static final int RECYCLER_POOL_SIZE = 256;
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        // Blackbird génère des classes à l'exécution, impossible dans une image native
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.postConfigurer(objectMapper -> objectMapper.registerModule(new BlackbirdModule()));
+            }
+        };
+    }
+
+    // Le pool par défaut de Jackson est rattaché au thread : inutile avec des threads virtuels
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Jackson2ObjectMapperBuilderCustomizer sharedRecyclerPoolCustomizer() {
+        return builder -> builder.factory(JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.newBoundedPool(RECYCLER_POOL_SIZE))
+                .build());
+    }
+
+    // Filtre des sparse fieldsets (?fields=) déclaré sur les seuls types renvoyés, inactif par défaut
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetCustomizer() {
+        return builder -> {
+            for (Class<?> type : RESPONSE_TYPES) {
+                builder.mixIn(type, SparseFieldsetAdvice.FilteredMixIn.class);
+            }
+            builder.filters(SparseFieldsetAdvice.DEFAULT_FILTERS);
+        };
+    }
+
+    // Construits à partir du builder de Spring Boot : même configuration que le JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public SmartInitializingSingleton jacksonSerializerPrewarm(ObjectMapper objectMapper) {
+        return () -> {
+            TypeFactory typeFactory = objectMapper.getTypeFactory();
+            for (Class<?> type : RESPONSE_TYPES) {
+                // writerFor() résout le sérialiseur racine et le garde dans le cache du mapper
+                objectMapper.writerFor(type);
+                objectMapper.writerFor(typeFactory.constructCollectionType(List.class, type));
+            }
+        };
+    }
+}
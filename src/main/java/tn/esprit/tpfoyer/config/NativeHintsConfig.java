@@ -0,0 +1,49 @@
+package tn.esprit.tpfoyer.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import tn.esprit.tpfoyer.dto.BatchResult;
+import tn.esprit.tpfoyer.dto.FoyerDashboard;
+import tn.esprit.tpfoyer.entity.*;
+
+import java.util.List;
+
+/**
+ * Indices pour l'image native GraalVM (profil Maven native) : ce que le traitement AOT de Spring
+ * ne découvre pas seul. Sans effet sur la JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.TpFoyerRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class TpFoyerRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entités : instanciées par Hibernate, (dé)sérialisées par Jackson, y compris via les DTO
+            for (Class<?> type : List.of(Bloc.class, Chambre.class, Etudiant.class, Foyer.class,
+                    Reservation.class, Universite.class, TypeChambre.class,
+                    BatchResult.class, FoyerDashboard.class, FoyerDashboard.UniversiteResume.class,
+                    FoyerDashboard.BlocResume.class, FoyerDashboard.ReservationTotaux.class)) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+
+            // Aspect : l'advice est invoqué par réflexion sur les beans service
+            hints.reflection().registerType(ConfigAOP.class,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Événements JFR : champs lus par réflexion à l'enregistrement
+            for (Class<?> event : List.of(ServiceCallEvent.class, RepositoryQueryEvent.class)) {
+                hints.reflection().registerType(event,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+            }
+
+            // springdoc : ressources de Swagger UI servies depuis le webjar
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+            hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        }
+    }
+}
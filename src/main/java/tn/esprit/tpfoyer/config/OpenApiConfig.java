@@ -0,0 +1,42 @@
+package tn.esprit.tpfoyer.config;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.GetMapping;
+
+@Configuration(proxyBeanMethods = false)
+public class OpenApiConfig {
+
+    private static final String FIELDS_DESCRIPTION =
+            "Propriétés à renvoyer, séparées par des virgules (toutes par défaut)";
+
+    // Paramètre fields documenté sur les GET filtrés par SparseFieldsetAdvice
+    @Bean
+    public OperationCustomizer sparseFieldsetParameter() {
+        return (operation, handlerMethod) -> {
+            if (!handlerMethod.hasMethodAnnotation(GetMapping.class)
+                    || SparseFieldsetAdvice.targetType(handlerMethod.getReturnType()) == null) {
+                return operation;
+            }
+            Parameter declared = operation.getParameters() == null ? null : operation.getParameters().stream()
+                    .filter(p -> SparseFieldsetAdvice.PARAMETER.equals(p.getName()))
+                    .findFirst()
+                    .orElse(null);
+            if (declared != null) {
+                declared.setDescription(FIELDS_DESCRIPTION);
+            } else {
+                operation.addParametersItem(new Parameter()
+                        .in("query")
+                        .name(SparseFieldsetAdvice.PARAMETER)
+                        .required(false)
+                        .description(FIELDS_DESCRIPTION)
+                        .schema(new ArraySchema().items(new StringSchema()).uniqueItems(true)));
+            }
+            return operation;
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package tn.esprit.tpfoyer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation de débit par endpoint et par client : répond 429 avec {@code Retry-After} quand le
+ * bucket est vide, avant que le contrôleur ne prenne une connexion du pool.
+ */
+@Component
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    // Au-delà, le client est simplement invité à réessayer plus tard
+    private static final long MAX_RETRY_AFTER_SECONDS = 3600;
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationAvailability availability;
+
+    private final Map<String, TokenBucket> sharedBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry,
+                                ApplicationAvailability availability) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.availability = availability;
+        meterRegistry.gaugeMapSize("tpfoyer.ratelimit.client.buckets", Tags.empty(), clientBuckets);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        if (isWarmupRequest(request)) {
+            return true;
+        }
+        String endpoint = SqlBudgetFilter.endpoint(handlerMethod);
+        RateLimitProperties.Limit limit = properties.getEndpoints().get(endpoint);
+        if (limit == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        // Le bucket client d'abord : un client trop gourmand ne vide pas le bucket partagé
+        TokenBucket clientBucket = null;
+        if (limit.getPerClient() != null) {
+            String key = endpoint + "|" + client(request);
+            clientBucket = clientBuckets.computeIfAbsent(key, k -> new TokenBucket(limit.getPerClient(), now));
+            long wait = clientBucket.tryConsume(now);
+            if (wait > 0) {
+                return reject(response, endpoint, "client", wait);
+            }
+        }
+        if (limit.getShared() != null) {
+            long wait = sharedBuckets.computeIfAbsent(endpoint, k -> new TokenBucket(limit.getShared(), now)).tryConsume(now);
+            if (wait > 0) {
+                // Requête non servie : le jeton du client lui est rendu
+                if (clientBucket != null) {
+                    clientBucket.refund();
+                }
+                return reject(response, endpoint, "shared", wait);
+            }
+        }
+        return true;
+    }
+
+    // Requêtes synthétiques de WarmupRunner : marquées, locales et avant readiness uniquement
+    private boolean isWarmupRequest(HttpServletRequest request) {
+        return request.getHeader(WarmupRunner.WARMUP_HEADER) != null
+                && availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC
+                && isLoopback(request.getRemoteAddr());
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            // Adresse IP littérale (pas de résolution DNS)
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private boolean reject(HttpServletResponse response, String endpoint, String scope, long waitNanos) {
+        long retryAfter = Math.min(MAX_RETRY_AFTER_SECONDS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        meterRegistry.counter("tpfoyer.ratelimit.rejected", "endpoint", endpoint, "scope", scope).increment();
+        log.debug("Limite de débit ({}) atteinte pour {}, Retry-After {} s", scope, endpoint, retryAfter);
+        return false;
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictIdleClients() {
+        long cutoff = System.nanoTime() - properties.getClientIdleTimeout().toNanos();
+        clientBuckets.values().removeIf(bucket -> bucket.unusedSince(cutoff));
+    }
+}
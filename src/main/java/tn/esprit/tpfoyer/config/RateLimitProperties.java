@@ -0,0 +1,48 @@
+package tn.esprit.tpfoyer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limites de débit par méthode de contrôleur, par exemple
+ * {@code tpfoyer.rate-limit.endpoints[FoyerRestController.getFoyers].per-client.capacity=10}.
+ * Les endpoints absents de la configuration ne sont pas limités.
+ */
+@Component
+@ConfigurationProperties(prefix = "tpfoyer.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Identifier le client par X-Forwarded-For (uniquement derrière un reverse proxy de confiance)
+    private boolean trustForwardedFor = false;
+
+    // Les buckets client inutilisés depuis ce délai sont supprimés
+    private Duration clientIdleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        // Bucket partagé par tous les clients de l'endpoint
+        private Bucket shared;
+        // Bucket propre à chaque client de l'endpoint
+        private Bucket perClient;
+    }
+
+    @Getter
+    @Setter
+    public static class Bucket {
+        private long capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,36 @@
+package tn.esprit.tpfoyer.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR émis autour de chaque appel d'un repository Spring Data.
+ */
+@Name(RepositoryQueryEvent.NAME)
+@Label("Repository Query")
+@Category({"TP Foyer", "Repository"})
+@Description("Appel d'une méthode de repository Spring Data")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+    public static final String NAME = "tn.esprit.tpfoyer.RepositoryQuery";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Row Count")
+    long rowCount;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,69 @@
+package tn.esprit.tpfoyer.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Intercepteur ajouté au proxy de chaque repository : émet un {@link RepositoryQueryEvent}
+ * (méthode, entité, nombre de lignes, durée) quand l'événement est activé dans une recording JFR.
+ */
+class RepositoryQueryEventInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final String entity;
+
+    RepositoryQueryEventInterceptor(Class<?> repositoryInterface, Class<?> domainType) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.entity = domainType.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        boolean success = false;
+        try {
+            result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.entity = entity;
+                event.rowCount = rowCount(result);
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            // count / exists / delete : une valeur scalaire, pas des lignes d'entités
+            return 0;
+        }
+        return 1;
+    }
+}
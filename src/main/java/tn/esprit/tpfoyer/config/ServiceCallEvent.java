@@ -0,0 +1,30 @@
+package tn.esprit.tpfoyer.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR émis par {@link ConfigAOP} autour de chaque appel de la couche service.
+ */
+@Name(ServiceCallEvent.NAME)
+@Label("Service Call")
+@Category({"TP Foyer", "Service"})
+@Description("Appel d'une méthode I*Service")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    public static final String NAME = "tn.esprit.tpfoyer.ServiceCall";
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Success")
+    boolean success;
+}
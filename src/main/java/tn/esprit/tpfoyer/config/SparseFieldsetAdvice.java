@@ -0,0 +1,148 @@
+package tn.esprit.tpfoyer.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.hibernate.Hibernate;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import tn.esprit.tpfoyer.dto.BatchResult;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse fieldsets : {@code ?fields=idEtudiant,nomEtudiant} limite les propriétés sérialisées des
+ * objets renvoyés par l'endpoint (éléments de la liste ou du {@link BatchResult}). Les objets
+ * imbriqués d'un autre type sont écrits en entier. Un champ inconnu donne une 400.
+ * <p>
+ * Les lectures retrieve-all-*, retrieve-* par id, par lot d'ids et par CIN limitent aussi le SELECT
+ * (voir {@code ProjectionRepository}) ; ailleurs, seule la sortie est réduite.
+ */
+@RestControllerAdvice
+public class SparseFieldsetAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String PARAMETER = "fields";
+    static final String FILTER_ID = "sparseFieldset";
+
+    // Filtre par défaut : sans paramètre fields, tout est écrit
+    static final SimpleFilterProvider DEFAULT_FILTERS = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    private final ObjectMapper objectMapper;
+
+    // Propriétés sérialisables par type, calculées une fois
+    private final Map<Class<?>, Set<String>> properties = new ConcurrentHashMap<>();
+
+    public SparseFieldsetAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && targetType(returnType) != null;
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        Set<String> fields = requestedFields(request);
+        if (fields.isEmpty()) {
+            return;
+        }
+        Class<?> target = targetType(returnType);
+        Set<String> unknown = new TreeSet<>(fields);
+        unknown.removeAll(properties.computeIfAbsent(target, this::serializableProperties));
+        if (!unknown.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown fields for " + target.getSimpleName() + ": " + unknown);
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider(Map.of(FILTER_ID, new FieldsetFilter(target, fields))));
+    }
+
+    /**
+     * Type dont les propriétés sont filtrées : l'élément d'une collection ou d'un {@link BatchResult},
+     * sinon le type renvoyé ; null pour les types sans filtre (hors de {@code JacksonConfig.RESPONSE_TYPES}).
+     */
+    static Class<?> targetType(MethodParameter returnType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        if (Collection.class.isAssignableFrom(type.toClass())) {
+            type = type.asCollection().getGeneric(0);
+        } else if (BatchResult.class.equals(type.toClass())) {
+            type = type.getGeneric(0);
+        }
+        Class<?> target = type.resolve();
+        return target != null && JacksonConfig.RESPONSE_TYPES.contains(target) ? target : null;
+    }
+
+    private static Set<String> requestedFields(ServerHttpRequest request) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return Set.of();
+        }
+        String[] values = servletRequest.getServletRequest().getParameterValues(PARAMETER);
+        if (values == null) {
+            return Set.of();
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        for (String value : values) {
+            for (String field : StringUtils.commaDelimitedListToStringArray(value)) {
+                if (StringUtils.hasText(field)) {
+                    fields.add(field.trim());
+                }
+            }
+        }
+        return fields;
+    }
+
+    private Set<String> serializableProperties(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        for (BeanPropertyDefinition property : objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type)).findProperties()) {
+            if (property.couldSerialize()) {
+                names.add(property.getName());
+            }
+        }
+        return names;
+    }
+
+    // Posé sur les types renvoyés par mixin (JacksonConfig) pour que le filtre de la requête s'applique
+    @JsonFilter(FILTER_ID)
+    interface FilteredMixIn {
+    }
+
+    static final class FieldsetFilter extends SimpleBeanPropertyFilter {
+
+        private final Class<?> target;
+        private final Set<String> fields;
+
+        FieldsetFilter(Class<?> target, Set<String> fields) {
+            this.target = target;
+            this.fields = fields;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (fields.contains(writer.getName()) || !target.isAssignableFrom(Hibernate.getClass(pojo))) {
+                writer.serializeAsField(pojo, gen, provider);
+            }
+        }
+    }
+}
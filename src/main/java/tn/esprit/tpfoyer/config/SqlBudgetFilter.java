@@ -0,0 +1,83 @@
+package tn.esprit.tpfoyer.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compte les requêtes SQL de chaque requête HTTP : en-têtes {@code X-Sql-*}, métriques
+ * {@code tpfoyer.sql.*} par méthode de contrôleur, et warning quand le budget est dépassé.
+ * <p>
+ * Les en-têtes partent avec le corps et ne voient pas les chargements paresseux faits pendant la
+ * sérialisation (open-in-view) ; les métriques, le warning et l'attribut de requête
+ * {@link SqlStatementStats#REQUEST_ATTRIBUTE} sont relevés une fois la réponse écrite.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    SqlBudgetProperties properties;
+    MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.bind();
+        request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, stats);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.unbind();
+            if (!response.isCommitted()) {
+                stats.writeHeaders(response);
+            }
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                check(endpoint(handler), stats);
+            }
+        }
+    }
+
+    static String endpoint(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+
+    private void check(String endpoint, SqlStatementStats stats) {
+        DistributionSummary.builder("tpfoyer.sql.statements")
+                .description("Requêtes SQL exécutées par requête HTTP")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("tpfoyer.sql.time")
+                .description("Temps JDBC cumulé par requête HTTP")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+        int maxStatements = properties.maxStatementsFor(endpoint);
+        long maxMillis = properties.maxTimeFor(endpoint).toMillis();
+        if (stats.getStatements() > maxStatements || stats.getElapsedMillis() > maxMillis) {
+            meterRegistry.counter("tpfoyer.sql.budget.exceeded", "endpoint", endpoint).increment();
+            log.warn("Budget SQL dépassé par {} : {} requêtes (max {}), {} ms (max {} ms)",
+                    endpoint, stats.getStatements(), maxStatements, stats.getElapsedMillis(), maxMillis);
+        }
+    }
+}
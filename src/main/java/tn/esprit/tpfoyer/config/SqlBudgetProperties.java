@@ -0,0 +1,46 @@
+package tn.esprit.tpfoyer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Budget SQL par requête HTTP. Les budgets spécifiques sont indexés par méthode de contrôleur,
+ * par exemple {@code tpfoyer.sql-budget.endpoints[EtudiantRestController.getEtudiants].max-statements=1}.
+ */
+@Component
+@ConfigurationProperties(prefix = "tpfoyer.sql-budget")
+@Getter
+@Setter
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+
+    private int maxStatements = 20;
+
+    private Duration maxTime = Duration.ofMillis(500);
+
+    private Map<String, Budget> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private Integer maxStatements;
+        private Duration maxTime;
+    }
+
+    int maxStatementsFor(String endpoint) {
+        Budget budget = endpoints.get(endpoint);
+        return budget != null && budget.maxStatements != null ? budget.maxStatements : maxStatements;
+    }
+
+    Duration maxTimeFor(String endpoint) {
+        Budget budget = endpoints.get(endpoint);
+        return budget != null && budget.maxTime != null ? budget.maxTime : maxTime;
+    }
+}
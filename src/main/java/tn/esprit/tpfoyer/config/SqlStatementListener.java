@@ -0,0 +1,27 @@
+package tn.esprit.tpfoyer.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Listener datasource-proxy : chaque exécution JDBC (un aller-retour, batch compris)
+ * est comptée dans les {@link SqlStatementStats} de la requête HTTP courante.
+ */
+class SqlStatementListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // rien à faire avant l'exécution
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(execInfo.getElapsedTime());
+        }
+    }
+}
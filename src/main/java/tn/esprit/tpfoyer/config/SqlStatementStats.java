@@ -0,0 +1,85 @@
+package tn.esprit.tpfoyer.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteur des requêtes SQL exécutées pendant une requête HTTP.
+ * Attaché au thread courant par {@link SqlBudgetFilter} et alimenté par {@link SqlStatementListener} ;
+ * les tâches soumises à un exécuteur décoré par {@link #taskDecorator()} comptent pour la requête qui les a lancées.
+ */
+public final class SqlStatementStats {
+
+    public static final String HEADER_STATEMENTS = "X-Sql-Statements";
+    public static final String HEADER_TIME = "X-Sql-Time-Ms";
+    // Statistiques finales de la requête (sérialisation du corps comprise), posées par SqlBudgetFilter
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    // Alimentés en parallèle par les tâches d'une même requête
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong elapsedMillis = new AtomicLong();
+
+    static SqlStatementStats bind() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /** Statistiques de la requête HTTP en cours, ou {@code null} hors requête instrumentée. */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Propage les statistiques du thread qui soumet la tâche au thread qui l'exécute. Le thread
+     * d'exécution retrouve ensuite son état précédent (CallerRunsPolicy : c'est le même thread).
+     */
+    public static TaskDecorator taskDecorator() {
+        return task -> {
+            SqlStatementStats stats = CURRENT.get();
+            if (stats == null) {
+                return task;
+            }
+            return () -> {
+                SqlStatementStats previous = CURRENT.get();
+                CURRENT.set(stats);
+                try {
+                    task.run();
+                } finally {
+                    if (previous == null) {
+                        CURRENT.remove();
+                    } else {
+                        CURRENT.set(previous);
+                    }
+                }
+            };
+        };
+    }
+
+    void record(long elapsedMillis) {
+        this.statements.incrementAndGet();
+        this.elapsedMillis.addAndGet(elapsedMillis);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis.get();
+    }
+
+    void writeHeaders(HttpServletResponse response) {
+        response.setHeader(HEADER_STATEMENTS, Integer.toString(getStatements()));
+        response.setHeader(HEADER_TIME, Long.toString(getElapsedMillis()));
+    }
+}
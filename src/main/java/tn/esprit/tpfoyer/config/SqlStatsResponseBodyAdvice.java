@@ -0,0 +1,36 @@
+package tn.esprit.tpfoyer.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Écrit les en-têtes {@code X-Sql-*} juste avant la sérialisation du corps,
+ * la réponse étant déjà envoyée quand {@link SqlBudgetFilter} reprend la main.
+ * Indicatifs : les requêtes des chargements paresseux de la sérialisation n'y figurent pas
+ * (voir {@link SqlStatementStats#REQUEST_ATTRIBUTE} pour le total).
+ */
+@RestControllerAdvice
+public class SqlStatsResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null && response instanceof ServletServerHttpResponse servletResponse) {
+            stats.writeHeaders(servletResponse.getServletResponse());
+        }
+        return body;
+    }
+}
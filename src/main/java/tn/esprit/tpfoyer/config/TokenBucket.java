@@ -0,0 +1,44 @@
+package tn.esprit.tpfoyer.config;
+
+/**
+ * Token bucket : {@code capacity} jetons au maximum, rechargés en continu à {@code refillPerSecond}.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+    private long lastUsed;
+
+    TokenBucket(RateLimitProperties.Bucket config, long now) {
+        this.capacity = config.getCapacity();
+        this.refillPerNano = config.getRefillPerSecond() / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = now;
+        this.lastUsed = now;
+    }
+
+    /**
+     * @return 0 si un jeton a été consommé, sinon le délai en nanosecondes avant le prochain jeton
+     */
+    synchronized long tryConsume(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+        lastUsed = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return refillPerNano > 0 ? (long) Math.ceil((1 - tokens) / refillPerNano) : Long.MAX_VALUE;
+    }
+
+    /** Rend un jeton consommé par {@link #tryConsume(long)} pour une requête finalement rejetée. */
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    synchronized boolean unusedSince(long cutoff) {
+        return lastUsed - cutoff < 0;
+    }
+}
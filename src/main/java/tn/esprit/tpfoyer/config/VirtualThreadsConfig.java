@@ -0,0 +1,26 @@
+package tn.esprit.tpfoyer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Profile("virtual-threads")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @EventListener
+    public void checkRuntime(ApplicationStartedEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Threads virtuels actifs (Java {}) : Tomcat, @Async et @Scheduled", Runtime.version().feature());
+        } else {
+            log.warn("Profil virtual-threads actif mais Java {} < 21 : exécution sur threads plateforme",
+                    Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package tn.esprit.tpfoyer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phase de warm-up exécutée avant que l'application ne se déclare prête.
+ */
+@Component
+@ConfigurationProperties(prefix = "tpfoyer.warmup")
+@Getter
+@Setter
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    // Nombre de rejeux de chaque requête synthétique
+    private int iterations = 20;
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    // Temps maximal passé sur une même requête : au-delà, ses itérations restantes sont abandonnées
+    private Duration requestBudget = Duration.ofSeconds(2);
+
+    // Requêtes GET rejouées sur le serveur embarqué (chemins relatifs au context-path), à coût borné
+    private List<String> requests = new ArrayList<>();
+}
@@ -0,0 +1,167 @@
+package tn.esprit.tpfoyer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import tn.esprit.tpfoyer.service.IBlocService;
+import tn.esprit.tpfoyer.service.IChambreService;
+import tn.esprit.tpfoyer.service.IFoyerService;
+import tn.esprit.tpfoyer.service.IUniversiteService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Warm-up avant readiness : les runners s'exécutent avant que Spring Boot ne passe l'état de
+ * readiness à ACCEPTING_TRAFFIC. Les données de référence sont lues une première fois (pool de
+ * connexions, plans de requêtes Hibernate, cache MySQL), puis des requêtes synthétiques sont
+ * rejouées sur le serveur embarqué pour que le JIT compile les chemins Tomcat/Jackson/Hibernate.
+ * <p>
+ * Les chambres, seule table qui grandit avec les foyers, ne sont lues que par page d'identifiants ;
+ * chaque requête rejouée s'arrête au bout de {@code request-budget}.
+ */
+@Component
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    /** En-tête des requêtes synthétiques : exemptées de la limitation de débit tant que l'application n'est pas prête. */
+    public static final String WARMUP_HEADER = "X-Tpfoyer-Warmup";
+
+    public record RequestWarmup(String path, int status, int iterations, Duration first, Duration last) { }
+
+    // Page de chambres lue au préchargement
+    private static final List<Long> CHAMBRES_PAGE = LongStream.rangeClosed(1, 20).boxed().toList();
+
+    public record WarmupReport(Duration duration, Map<String, Duration> preloads, List<RequestWarmup> requests) { }
+
+    private final WarmupProperties properties;
+    private final IUniversiteService universiteService;
+    private final IFoyerService foyerService;
+    private final IBlocService blocService;
+    private final IChambreService chambreService;
+    private final MeterRegistry meterRegistry;
+    private final String contextPath;
+
+    private volatile int port = -1;
+    private volatile WarmupReport report;
+
+    public WarmupRunner(WarmupProperties properties, IUniversiteService universiteService, IFoyerService foyerService,
+                        IBlocService blocService, IChambreService chambreService, MeterRegistry meterRegistry,
+                        @Value("${server.servlet.context-path:}") String contextPath) {
+        this.properties = properties;
+        this.universiteService = universiteService;
+        this.foyerService = foyerService;
+        this.blocService = blocService;
+        this.chambreService = chambreService;
+        this.meterRegistry = meterRegistry;
+        this.contextPath = contextPath;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        // Le serveur de management publie aussi cet événement, dans son propre namespace
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, Duration> preloads = preloadReferenceData();
+        List<RequestWarmup> requests = port > 0 ? replayRequests() : List.of();
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        report = new WarmupReport(duration, preloads, requests);
+        meterRegistry.timer("tpfoyer.warmup.duration").record(duration);
+        log.info("Warm-up terminé en {} ms", duration.toMillis());
+        preloads.forEach((name, time) -> log.info("  préchargement {} : {} ms", name, time.toMillis()));
+        requests.forEach(r -> log.info("  GET {} ({}) : premier appel {} ms, après warm-up {} ms",
+                r.path(), r.status(), r.first().toMillis(), r.last().toMillis()));
+    }
+
+    private Map<String, Duration> preloadReferenceData() {
+        Map<String, Duration> preloads = new LinkedHashMap<>();
+        preload(preloads, "universites", universiteService::retrieveAllUniversites);
+        preload(preloads, "foyers", foyerService::retrieveAllFoyers);
+        preload(preloads, "blocs", blocService::retrieveAllBlocs);
+        preload(preloads, "chambres", () -> chambreService.retrieveChambres(CHAMBRES_PAGE));
+        return preloads;
+    }
+
+    private void preload(Map<String, Duration> preloads, String name, Runnable loader) {
+        long start = System.nanoTime();
+        try {
+            loader.run();
+        } catch (RuntimeException e) {
+            // Un warm-up incomplet ne doit pas empêcher le démarrage
+            log.warn("Préchargement {} impossible : {}", name, e.getMessage());
+        }
+        preloads.put(name, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private List<RequestWarmup> replayRequests() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getRequestTimeout());
+        requestFactory.setReadTimeout(properties.getRequestTimeout());
+        RestClient client = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + port + contextPath)
+                .requestFactory(requestFactory)
+                .defaultHeader(WARMUP_HEADER, "true")
+                .build();
+
+        List<RequestWarmup> results = new ArrayList<>();
+        for (String path : properties.getRequests()) {
+            int status = 0;
+            int iterations = 0;
+            Duration first = null;
+            Duration last = null;
+            long budgetEnd = System.nanoTime() + properties.getRequestBudget().toNanos();
+            for (int i = 0; i < Math.max(1, properties.getIterations()); i++) {
+                if (i > 0 && System.nanoTime() - budgetEnd > 0) {
+                    log.info("Warm-up de GET {} arrêté après {} itérations (budget {} ms)",
+                            path, i, properties.getRequestBudget().toMillis());
+                    break;
+                }
+                iterations++;
+                long start = System.nanoTime();
+                try {
+                    status = client.get().uri(path).exchange((request, response) -> {
+                        response.getBody().readAllBytes();
+                        return response.getStatusCode().value();
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Requête de warm-up GET {} en échec : {}", path, e.getMessage());
+                    status = -1;
+                }
+                last = Duration.ofNanos(System.nanoTime() - start);
+                if (first == null) {
+                    first = last;
+                }
+                if (status < 0) {
+                    break;
+                }
+            }
+            results.add(new RequestWarmup(path, status, iterations, first, last));
+        }
+        return results;
+    }
+}
@@ -5,10 +5,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Bloc;
 import tn.esprit.tpfoyer.service.IBlocService;
 
 import java.util.List;
+import java.util.Set;
 
 @Tag(name = "Gestion Bloc pour l'équipe 4DS9")
 @RestController
@@ -23,16 +25,24 @@ public class BlocRestController {
 
     @GetMapping("/retrieve-all-blocs")
     @Operation(description = "WS de récuperation de tous les Blocs ")
-    public List<Bloc> getBlocs() {
-        return blocService.retrieveAllBlocs();
+    public List<Bloc> getBlocs(@RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? blocService.retrieveAllBlocs() : blocService.retrieveAllBlocs(fields);
         //return listBlocs;
     }
 
+    // http://localhost:8089/tpfoyer/bloc/retrieve-blocs?ids=1,2,3
+    @GetMapping("/retrieve-blocs")
+    public BatchResult<Bloc, Long> retrieveBlocs(@RequestParam("ids") List<Long> ids,
+                                             @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? blocService.retrieveBlocs(ids) : blocService.retrieveBlocs(ids, fields);
+    }
+
 
     // http://localhost:8089/tpfoyer/bloc/retrieve-bloc/8
     @GetMapping("/retrieve-bloc/{bloc-id}")
-    public Bloc retrieveBloc(@PathVariable("bloc-id") Long bId) {
-        Bloc bloc = blocService.retrieveBloc(bId);
+    public Bloc retrieveBloc(@PathVariable("bloc-id") Long bId,
+                             @RequestParam(name = "fields", required = false) Set<String> fields) {
+        Bloc bloc = fields == null ? blocService.retrieveBloc(bId) : blocService.retrieveBloc(bId, fields);
         return bloc;
 
     }
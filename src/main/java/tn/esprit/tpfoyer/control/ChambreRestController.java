@@ -2,10 +2,12 @@ package tn.esprit.tpfoyer.control;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Chambre;
 import tn.esprit.tpfoyer.entity.TypeChambre;
 import tn.esprit.tpfoyer.service.IChambreService;
 import java.util.List;
+import java.util.Set;
 
 
 @RestController
@@ -17,16 +19,24 @@ public class ChambreRestController {
 
 // http://localhost:8089/tpfoyer/chambre/retrieve-all-chambres
      @GetMapping("/retrieve-all-chambres")
-    public List<Chambre> getChambres() {
-        List<Chambre> listChambres = chambreService.retrieveAllChambres();
+    public List<Chambre> getChambres(@RequestParam(name = "fields", required = false) Set<String> fields) {
+        List<Chambre> listChambres = fields == null ? chambreService.retrieveAllChambres() : chambreService.retrieveAllChambres(fields);
         return listChambres;
     }
 
 
+    // http://localhost:8089/tpfoyer/chambre/retrieve-chambres?ids=1,2,3
+    @GetMapping("/retrieve-chambres")
+    public BatchResult<Chambre, Long> retrieveChambres(@RequestParam("ids") List<Long> ids,
+                                             @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? chambreService.retrieveChambres(ids) : chambreService.retrieveChambres(ids, fields);
+    }
+
 
     @GetMapping("/retrieve-chambre/{chambre-id}")
-    public Chambre retrieveChambre(@PathVariable("chambre-id") Long chId) {
-        Chambre chambre = chambreService.retrieveChambre(chId);
+    public Chambre retrieveChambre(@PathVariable("chambre-id") Long chId,
+                                   @RequestParam(name = "fields", required = false) Set<String> fields) {
+        Chambre chambre = fields == null ? chambreService.retrieveChambre(chId) : chambreService.retrieveChambre(chId, fields);
         return chambre;
     }
 
@@ -2,10 +2,12 @@ package tn.esprit.tpfoyer.control;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Etudiant;
 import tn.esprit.tpfoyer.service.IEtudiantService;
 
 import java.util.List;
+import java.util.Set;
 
 
 @RestController
@@ -17,8 +19,8 @@ public class EtudiantRestController {
 
 
     @GetMapping("/retrieve-all-etudiants")
-    public List<Etudiant> getEtudiants() {
-        List<Etudiant> listEtudiants = etudiantService.retrieveAllEtudiants();
+    public List<Etudiant> getEtudiants(@RequestParam(name = "fields", required = false) Set<String> fields) {
+        List<Etudiant> listEtudiants = fields == null ? etudiantService.retrieveAllEtudiants() : etudiantService.retrieveAllEtudiants(fields);
         return listEtudiants;
     }
 
@@ -33,16 +35,33 @@ public class EtudiantRestController {
 
 
 
+    // Lecture groupée par CIN (requêtes IN découpées par lots)
+    // http://localhost:8089/tpfoyer/etudiant/retrieve-etudiants-cin?cins=111,222
+    @GetMapping("/retrieve-etudiants-cin")
+    public BatchResult<Etudiant, Long> retrieveEtudiantsParCins(@RequestParam("cins") List<Long> cins,
+                                                                @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? etudiantService.recupererEtudiantsParCins(cins) : etudiantService.recupererEtudiantsParCins(cins, fields);
+    }
+
     @GetMapping("/retrieve-etudiant-cin/{cin}")
-    public Etudiant retrieveEtudiantParCin(@PathVariable("cin") Long cin) {
-        Etudiant etudiant = etudiantService.recupererEtudiantParCin(cin);
+    public Etudiant retrieveEtudiantParCin(@PathVariable("cin") Long cin,
+                                           @RequestParam(name = "fields", required = false) Set<String> fields) {
+        Etudiant etudiant = fields == null ? etudiantService.recupererEtudiantParCin(cin) : etudiantService.recupererEtudiantParCin(cin, fields);
         return etudiant;
     }
 
+    // http://localhost:8089/tpfoyer/etudiant/retrieve-etudiants?ids=1,2,3
+    @GetMapping("/retrieve-etudiants")
+    public BatchResult<Etudiant, Long> retrieveEtudiants(@RequestParam("ids") List<Long> ids,
+                                             @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? etudiantService.retrieveEtudiants(ids) : etudiantService.retrieveEtudiants(ids, fields);
+    }
+
 
     @GetMapping("/retrieve-etudiant/{etudiant-id}")
-    public Etudiant retrieveEtudiant(@PathVariable("etudiant-id") Long chId) {
-        Etudiant etudiant = etudiantService.retrieveEtudiant(chId);
+    public Etudiant retrieveEtudiant(@PathVariable("etudiant-id") Long chId,
+                                     @RequestParam(name = "fields", required = false) Set<String> fields) {
+        Etudiant etudiant = fields == null ? etudiantService.retrieveEtudiant(chId) : etudiantService.retrieveEtudiant(chId, fields);
         return etudiant;
     }
 
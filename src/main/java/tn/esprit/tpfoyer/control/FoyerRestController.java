@@ -2,10 +2,14 @@ package tn.esprit.tpfoyer.control;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import tn.esprit.tpfoyer.dto.FoyerDashboard;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Foyer;
+import tn.esprit.tpfoyer.service.IFoyerDashboardService;
 import tn.esprit.tpfoyer.service.IFoyerService;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @AllArgsConstructor
@@ -13,20 +17,36 @@ import java.util.List;
 public class FoyerRestController {
 
     IFoyerService foyerService;
+    IFoyerDashboardService foyerDashboardService;
 
     // http://localhost:8089/tpfoyer/foyer/retrieve-all-foyers
     @GetMapping("/retrieve-all-foyers")
-    public List<Foyer> getFoyers() {
-        List<Foyer> listFoyers = foyerService.retrieveAllFoyers();
+    public List<Foyer> getFoyers(@RequestParam(name = "fields", required = false) Set<String> fields) {
+        List<Foyer> listFoyers = fields == null ? foyerService.retrieveAllFoyers() : foyerService.retrieveAllFoyers(fields);
         return listFoyers;
     }
+    // http://localhost:8089/tpfoyer/foyer/retrieve-foyers?ids=1,2,3
+    @GetMapping("/retrieve-foyers")
+    public BatchResult<Foyer, Long> retrieveFoyers(@RequestParam("ids") List<Long> ids,
+                                             @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? foyerService.retrieveFoyers(ids) : foyerService.retrieveFoyers(ids, fields);
+    }
+
     // http://localhost:8089/tpfoyer/foyer/retrieve-foyer/8
     @GetMapping("/retrieve-foyer/{foyer-id}")
-    public Foyer retrieveFoyer(@PathVariable("foyer-id") Long fId) {
-        Foyer foyer = foyerService.retrieveFoyer(fId);
+    public Foyer retrieveFoyer(@PathVariable("foyer-id") Long fId,
+                               @RequestParam(name = "fields", required = false) Set<String> fields) {
+        Foyer foyer = fields == null ? foyerService.retrieveFoyer(fId) : foyerService.retrieveFoyer(fId, fields);
         return foyer;
     }
 
+    // Foyer, université, blocs (chambres par type) et réservations de l'année en un seul appel
+    // http://localhost:8089/tpfoyer/foyer/retrieve-foyer-dashboard/8
+    @GetMapping("/retrieve-foyer-dashboard/{foyer-id}")
+    public FoyerDashboard retrieveFoyerDashboard(@PathVariable("foyer-id") Long fId) {
+        return foyerDashboardService.retrieveFoyerDashboard(fId);
+    }
+
     // http://localhost:8089/tpfoyer/foyer/add-foyer
     @PostMapping("/add-foyer")
     public Foyer addFoyer(@RequestBody Foyer f) {
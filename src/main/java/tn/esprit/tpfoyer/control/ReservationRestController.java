@@ -2,12 +2,18 @@ package tn.esprit.tpfoyer.control;
 
 import lombok.AllArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.tpfoyer.dto.BatchResult;
+import tn.esprit.tpfoyer.dto.ReservationArchivee;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
 import tn.esprit.tpfoyer.entity.Reservation;
 import tn.esprit.tpfoyer.service.IReservationService;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @AllArgsConstructor
@@ -18,14 +24,22 @@ public class ReservationRestController {
 
     // http://localhost:8089/tpfoyer/reservation/retrieve-all-reservations
     @GetMapping("/retrieve-all-reservations")
-    public List<Reservation> getReservations() {
-        List<Reservation> listReservations = reservationService.retrieveAllReservations();
+    public List<Reservation> getReservations(@RequestParam(name = "fields", required = false) Set<String> fields) {
+        List<Reservation> listReservations = fields == null ? reservationService.retrieveAllReservations() : reservationService.retrieveAllReservations(fields);
         return listReservations;
     }
+    // http://localhost:8089/tpfoyer/reservation/retrieve-reservations?ids=1,2,3
+    @GetMapping("/retrieve-reservations")
+    public BatchResult<Reservation, String> retrieveReservations(@RequestParam("ids") List<String> ids,
+                                                                 @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? reservationService.retrieveReservations(ids) : reservationService.retrieveReservations(ids, fields);
+    }
+
     // http://localhost:8089/tpfoyer/reservation/retrieve-reservation/8
     @GetMapping("/retrieve-reservation/{reservation-id}")
-    public Reservation retrieveReservation(@PathVariable("reservation-id") String rId) {
-        Reservation reservation = reservationService.retrieveReservation(rId);
+    public Reservation retrieveReservation(@PathVariable("reservation-id") String rId,
+                                           @RequestParam(name = "fields", required = false) Set<String> fields) {
+        Reservation reservation = fields == null ? reservationService.retrieveReservation(rId) : reservationService.retrieveReservation(rId, fields);
         return reservation;
     }
 
@@ -41,6 +55,31 @@ public class ReservationRestController {
         return reservationService.trouverResSelonDateEtStatus(d, b);
     }
 
+    // http://localhost:8089/tpfoyer/reservation/retrieve-reservations-annee/2024-2025/true
+    @GetMapping("/retrieve-reservations-annee/{annee}/{v}")
+    public List<Reservation> retrieveReservationsParAnneeEtStatus(@PathVariable("annee") String annee,
+                                                                  @PathVariable("v") boolean b) {
+        AnneeAcademique anneeAcademique;
+        try {
+            anneeAcademique = AnneeAcademique.parse(annee);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return reservationService.trouverResSelonAnneeEtStatus(anneeAcademique, b);
+    }
+
+    // http://localhost:8089/tpfoyer/reservation/archive/retrieve-reservation/{reservation-id}
+    @GetMapping("/archive/retrieve-reservation/{reservation-id}")
+    public ReservationArchivee retrieveReservationArchivee(@PathVariable("reservation-id") String rId) {
+        return reservationService.retrieveReservationArchivee(rId);
+    }
+
+    // http://localhost:8089/tpfoyer/reservation/archive/retrieve-reservations-cin/12345678
+    @GetMapping("/archive/retrieve-reservations-cin/{cin}")
+    public List<ReservationArchivee> retrieveReservationsArchiveesParCin(@PathVariable("cin") long cin) {
+        return reservationService.retrieveReservationsArchiveesParCin(cin);
+    }
+
 
 
 
@@ -2,10 +2,12 @@ package tn.esprit.tpfoyer.control;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Universite;
 import tn.esprit.tpfoyer.service.IUniversiteService;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @AllArgsConstructor
@@ -16,14 +18,22 @@ public class UniversiteRestController {
 
     // http://localhost:8089/tpfoyer/universite/retrieve-all-universites
     @GetMapping("/retrieve-all-universites")
-    public List<Universite> getUniversites() {
-        List<Universite> listUniversites = universiteService.retrieveAllUniversites();
+    public List<Universite> getUniversites(@RequestParam(name = "fields", required = false) Set<String> fields) {
+        List<Universite> listUniversites = fields == null ? universiteService.retrieveAllUniversites() : universiteService.retrieveAllUniversites(fields);
         return listUniversites;
     }
+    // http://localhost:8089/tpfoyer/universite/retrieve-universites?ids=1,2,3
+    @GetMapping("/retrieve-universites")
+    public BatchResult<Universite, Long> retrieveUniversites(@RequestParam("ids") List<Long> ids,
+                                             @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return fields == null ? universiteService.retrieveUniversites(ids) : universiteService.retrieveUniversites(ids, fields);
+    }
+
     // http://localhost:8089/tpfoyer/universite/retrieve-universite/8
     @GetMapping("/retrieve-universite/{universite-id}")
-    public Universite retrieveUniversite(@PathVariable("universite-id") Long uId) {
-        Universite universite = universiteService.retrieveUniversite(uId);
+    public Universite retrieveUniversite(@PathVariable("universite-id") Long uId,
+                                         @RequestParam(name = "fields", required = false) Set<String> fields) {
+        Universite universite = fields == null ? universiteService.retrieveUniversite(uId) : universiteService.retrieveUniversite(uId, fields);
         return universite;
     }
 
@@ -0,0 +1,286 @@
+package tn.esprit.tpfoyer.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.TypeChambre;
+import tn.esprit.tpfoyer.entity.Ulid;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.*;
+import java.util.Date;
+
+/**
+ * Génère une hiérarchie complète (universités → foyers → blocs → chambres de chaque type →
+ * étudiants → réservations sur plusieurs années) par batchs JDBC, sur H2 comme sur MySQL.
+ * Les tables doivent exister (schéma créé par Hibernate) ; les identifiants continuent après les
+ * lignes déjà présentes.
+ * <p>
+ * Tout est tiré d'un seul {@link SplittableRandom} dans un ordre fixe : le résultat ne dépend que
+ * des propriétés. Un étudiant garde sa chambre d'une année sur l'autre (1 à 4 ans), une place
+ * libérée est reprise par un nouvel étudiant selon le taux d'occupation. Les réservations ont un
+ * identifiant {@link Ulid} horodaté à la rentrée de leur année.
+ * <p>
+ * Chaque batch est validé : une génération interrompue laisse les batchs déjà envoyés.
+ */
+@Component
+@Slf4j
+public class DataGenerator {
+
+    public record GenerationReport(Map<String, Long> rows, List<Integer> academicYears, Duration duration) {
+
+        public long totalRows() {
+            return rows.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    // Ordre d'insertion : parents avant enfants (clés étrangères)
+    private static final Map<String, String> INSERTS = new LinkedHashMap<>();
+
+    static {
+        INSERTS.put("foyer", "INSERT INTO foyer (id_foyer, nom_foyer, capacite_foyer) VALUES (?, ?, ?)");
+        INSERTS.put("universite", "INSERT INTO universite (id_universite, nom_universite, adresse, foyer_id_foyer) VALUES (?, ?, ?, ?)");
+        INSERTS.put("bloc", "INSERT INTO bloc (id_bloc, nom_bloc, capacite_bloc, foyer_id_foyer) VALUES (?, ?, ?, ?)");
+        INSERTS.put("chambre", "INSERT INTO chambre (id_chambre, numero_chambre, typec, bloc_id_bloc) VALUES (?, ?, ?, ?)");
+        INSERTS.put("etudiant", "INSERT INTO etudiant (id_etudiant, nom_etudiant, prenom_etudiant, cin_etudiant, date_naissance) VALUES (?, ?, ?, ?, ?)");
+        INSERTS.put("reservation", "INSERT INTO reservation (id_reservation, annee_universitaire, annee_academique, est_valide) VALUES (?, ?, ?, ?)");
+        INSERTS.put("reservation_etudiants", "INSERT INTO reservation_etudiants (reservations_id_reservation, etudiants_id_etudiant) VALUES (?, ?)");
+        INSERTS.put("chambre_reservations", "INSERT INTO chambre_reservations (chambre_id_chambre, reservations_id_reservation) VALUES (?, ?)");
+    }
+
+    // Tables à identifiant IDENTITY : compteur à recaler après des insertions à id explicite
+    private static final Map<String, String> IDENTITY_COLUMNS = Map.of(
+            "foyer", "id_foyer", "universite", "id_universite", "bloc", "id_bloc",
+            "chambre", "id_chambre", "etudiant", "id_etudiant");
+
+    private static final String[] VILLES = {"Tunis", "Ariana", "Sfax", "Sousse", "Monastir", "Nabeul",
+            "Bizerte", "Gabès", "Kairouan", "Gafsa", "Béja", "Médenine"};
+    private static final String[] NOMS = {"Ben Ali", "Trabelsi", "Jebali", "Gharbi", "Hammami", "Mejri",
+            "Ayari", "Ben Salah", "Bouazizi", "Chaabane", "Dridi", "Ferchichi", "Haddad", "Jlassi",
+            "Karray", "Mansouri", "Nasri", "Riahi", "Sassi", "Zouari"};
+    private static final String[] PRENOMS = {"Amine", "Mohamed", "Youssef", "Ahmed", "Skander", "Omar",
+            "Aziz", "Walid", "Yasmine", "Mariem", "Sarra", "Ines", "Rania", "Nour", "Eya", "Chaima",
+            "Amira", "Salma", "Khalil", "Hamza"};
+
+    private final DataSource dataSource;
+
+    public DataGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public GenerationReport generate(DataGeneratorProperties properties) {
+        long start = System.nanoTime();
+        List<Integer> years = academicYears(properties);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Batches batches = new Batches(connection, properties.getBatchSize())) {
+                Map<String, Long> rows = new Generation(properties, years, batches, nextIds(connection)).run();
+                batches.flush();
+                restartIdentities(connection);
+                connection.commit();
+                GenerationReport report = new GenerationReport(rows, years, Duration.ofNanos(System.nanoTime() - start));
+                log.info("Jeu de données généré en {} ms : {} lignes {}", report.duration().toMillis(),
+                        report.totalRows(), rows);
+                return report;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Génération du jeu de données impossible", e);
+        }
+    }
+
+    static List<Integer> academicYears(DataGeneratorProperties properties) {
+        int first = properties.getFirstAcademicYear() != null ? properties.getFirstAcademicYear()
+                : AnneeAcademique.courante().rentree() - properties.getAcademicYears() + 1;
+        List<Integer> years = new ArrayList<>();
+        for (int i = 0; i < properties.getAcademicYears(); i++) {
+            years.add(first + i);
+        }
+        return years;
+    }
+
+    private static Map<String, Long> nextIds(Connection connection) throws SQLException {
+        Map<String, Long> next = new HashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> column : IDENTITY_COLUMNS.entrySet()) {
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT COALESCE(MAX(" + column.getValue() + "), 0) FROM " + column.getKey())) {
+                    rs.next();
+                    next.put(column.getKey(), rs.getLong(1) + 1);
+                }
+            }
+        }
+        return next;
+    }
+
+    // MySQL recale AUTO_INCREMENT tout seul ; H2 garde son compteur et doit être relancé après le max
+    private static void restartIdentities(Connection connection) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().equals("H2")) {
+            return;
+        }
+        Map<String, Long> next = nextIds(connection);
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> column : IDENTITY_COLUMNS.entrySet()) {
+                statement.execute("ALTER TABLE " + column.getKey() + " ALTER COLUMN " + column.getValue()
+                        + " RESTART WITH " + next.get(column.getKey()));
+            }
+        }
+    }
+
+    private static final class Generation {
+
+        private final DataGeneratorProperties properties;
+        private final List<Integer> years;
+        private final Batches batches;
+        private final Map<String, Long> nextIds;
+        private final SplittableRandom random;
+        private final Map<String, Long> rows = new LinkedHashMap<>();
+
+        Generation(DataGeneratorProperties properties, List<Integer> years, Batches batches, Map<String, Long> nextIds) {
+            this.properties = properties;
+            this.years = years;
+            this.batches = batches;
+            this.nextIds = nextIds;
+            this.random = new SplittableRandom(properties.getSeed());
+            INSERTS.keySet().forEach(table -> rows.put(table, 0L));
+        }
+
+        Map<String, Long> run() throws SQLException {
+            for (int u = 0; u < properties.getUniversites(); u++) {
+                String ville = VILLES[u % VILLES.length];
+                int rang = u / VILLES.length + 1;
+                // Capacité indicative : deux places par chambre
+                long foyer = nextId("foyer");
+                add("foyer", foyer, "Foyer " + ville + " " + rang,
+                        (long) properties.getBlocsPerFoyer() * properties.getChambresPerBloc() * 2);
+                add("universite", nextId("universite"), "Université de " + ville + " " + rang,
+                        random.nextInt(1, 200) + " avenue de la République, " + ville, foyer);
+                for (int b = 0; b < properties.getBlocsPerFoyer(); b++) {
+                    generateBloc(foyer, b);
+                }
+            }
+            return rows;
+        }
+
+        private void generateBloc(long foyer, int index) throws SQLException {
+            // Types tirés avant d'insérer le bloc, pour que sa capacité soit son nombre de places
+            TypeChambre[] types = new TypeChambre[properties.getChambresPerBloc()];
+            long places = 0;
+            for (int c = 0; c < types.length; c++) {
+                types[c] = typeChambre();
+                places += types[c].ordinal() + 1;
+            }
+            long bloc = nextId("bloc");
+            add("bloc", bloc, "Bloc " + (char) ('A' + index % 26) + (index >= 26 ? String.valueOf(index / 26) : ""),
+                    places, foyer);
+            for (int c = 0; c < types.length; c++) {
+                long chambre = nextId("chambre");
+                add("chambre", chambre, (long) (index + 1) * 100 + c + 1, types[c].name(), bloc);
+                for (int place = 0; place <= types[c].ordinal(); place++) {
+                    occuperPlace(chambre);
+                }
+            }
+        }
+
+        // 50 % simples, 35 % doubles, 15 % triples
+        private TypeChambre typeChambre() {
+            int tirage = random.nextInt(100);
+            return tirage < 50 ? TypeChambre.SIMPLE : tirage < 85 ? TypeChambre.DOUBLE : TypeChambre.TRIPLE;
+        }
+
+        private void occuperPlace(long chambre) throws SQLException {
+            int y = 0;
+            while (y < years.size()) {
+                if (random.nextDouble() >= properties.getOccupancy()) {
+                    y++;
+                    continue;
+                }
+                int premiere = years.get(y);
+                long etudiant = nextId("etudiant");
+                add("etudiant", etudiant, NOMS[random.nextInt(NOMS.length)], PRENOMS[random.nextInt(PRENOMS.length)],
+                        10_000_000L + etudiant,
+                        date(LocalDate.of(premiere - 18 - random.nextInt(6), 1, 1).plusDays(random.nextInt(365))));
+                int duree = random.nextInt(1, 5);
+                for (int k = y; k < Math.min(y + duree, years.size()); k++) {
+                    Date debut = date(LocalDate.of(years.get(k), Month.SEPTEMBER, 15));
+                    String reservation = Ulid.of(debut.getTime(), random).toString();
+                    add("reservation", reservation, debut, (short) years.get(k).intValue(),
+                            random.nextDouble() < properties.getValidShare());
+                    add("reservation_etudiants", reservation, etudiant);
+                    add("chambre_reservations", chambre, reservation);
+                }
+                y += duree;
+            }
+        }
+
+        private long nextId(String table) {
+            return nextIds.merge(table, 1L, Long::sum) - 1;
+        }
+
+        private void add(String table, Object... values) throws SQLException {
+            batches.add(table, values);
+            rows.merge(table, 1L, Long::sum);
+        }
+
+        private static Date date(LocalDate date) {
+            return java.sql.Date.valueOf(date);
+        }
+    }
+
+    /**
+     * Un PreparedStatement par table ; quand une table atteint la taille de batch, toutes les tables
+     * sont envoyées dans l'ordre des clés étrangères puis la transaction est validée.
+     */
+    private static final class Batches implements AutoCloseable {
+
+        private final Connection connection;
+        private final int batchSize;
+        private final Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+        private final Map<String, Integer> pending = new HashMap<>();
+
+        Batches(Connection connection, int batchSize) throws SQLException {
+            this.connection = connection;
+            this.batchSize = batchSize;
+            for (Map.Entry<String, String> insert : INSERTS.entrySet()) {
+                statements.put(insert.getKey(), connection.prepareStatement(insert.getValue()));
+            }
+        }
+
+        void add(String table, Object... values) throws SQLException {
+            PreparedStatement statement = statements.get(table);
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (pending.merge(table, 1, Integer::sum) >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            for (Map.Entry<String, PreparedStatement> statement : statements.entrySet()) {
+                if (pending.getOrDefault(statement.getKey(), 0) > 0) {
+                    statement.getValue().executeBatch();
+                }
+            }
+            pending.clear();
+            connection.commit();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+        }
+    }
+}
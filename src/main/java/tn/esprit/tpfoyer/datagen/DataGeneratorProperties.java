@@ -0,0 +1,41 @@
+package tn.esprit.tpfoyer.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Échelle et graine du jeu de données synthétique. Même graine et mêmes valeurs : mêmes lignes.
+ * Volumes approximatifs : universites × blocsPerFoyer × chambresPerBloc chambres, environ 1,6
+ * place par chambre, et pour chaque place occupée un étudiant et une réservation par année.
+ */
+@Component
+@ConfigurationProperties(prefix = "tpfoyer.datagen")
+@Getter
+@Setter
+public class DataGeneratorProperties {
+
+    private long seed = 42;
+
+    // Une université par foyer (relation 1-1)
+    private int universites = 10;
+
+    private int blocsPerFoyer = 10;
+
+    private int chambresPerBloc = 50;
+
+    private int academicYears = 4;
+
+    // Première année universitaire générée ; par défaut, la dernière est l'année en cours
+    private Integer firstAcademicYear;
+
+    // Part des places occupées chaque année
+    private double occupancy = 0.85;
+
+    // Part des réservations validées
+    private double validShare = 0.95;
+
+    // Lignes par batch JDBC (et par commit)
+    private int batchSize = 1000;
+}
@@ -0,0 +1,35 @@
+package tn.esprit.tpfoyer.datagen;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profil datagen (voir application-datagen.properties) : génère le jeu de données puis arrête
+ * l'application.
+ */
+@Component
+@Profile("datagen")
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    private final DataGenerator dataGenerator;
+    private final DataGeneratorProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    public DataGeneratorRunner(DataGenerator dataGenerator, DataGeneratorProperties properties,
+                               ConfigurableApplicationContext context) {
+        this.dataGenerator = dataGenerator;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        dataGenerator.generate(properties);
+        // Les pools de threads (scheduling, tableau de bord) garderaient la JVM en vie
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,29 @@
+package tn.esprit.tpfoyer.dto;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Réponse des endpoints de lecture groupée : les entités trouvées dans l'ordre de la requête
+ * (doublons ignorés) et les identifiants introuvables.
+ */
+public record BatchResult<T, ID>(List<T> found, List<ID> missing) {
+
+    public static <T, ID> BatchResult<T, ID> of(Collection<ID> requested, Iterable<T> loaded, Function<T, ID> idOf) {
+        Map<ID, T> parId = new HashMap<>();
+        for (T entity : loaded) {
+            parId.put(idOf.apply(entity), entity);
+        }
+        List<T> found = new ArrayList<>(parId.size());
+        List<ID> missing = new ArrayList<>();
+        for (ID id : new LinkedHashSet<>(requested)) {
+            T entity = parId.get(id);
+            if (entity != null) {
+                found.add(entity);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchResult<>(found, missing);
+    }
+}
@@ -0,0 +1,28 @@
+package tn.esprit.tpfoyer.dto;
+
+import tn.esprit.tpfoyer.entity.TypeChambre;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Document unique renvoyé par {@code /foyer/retrieve-foyer-dashboard/{foyer-id}}.
+ */
+public record FoyerDashboard(
+        Long idFoyer,
+        String nomFoyer,
+        long capaciteFoyer,
+        UniversiteResume universite,
+        List<BlocResume> blocs,
+        ReservationTotaux reservations) {
+
+    public record UniversiteResume(long idUniversite, String nomUniversite, String adresse) {
+    }
+
+    public record BlocResume(long idBloc, String nomBloc, long capaciteBloc, Map<TypeChambre, Long> chambresParType) {
+    }
+
+    /** Totaux de l'année universitaire en cours (début = année de la rentrée de septembre). */
+    public record ReservationTotaux(int anneeDebut, long total, long valides) {
+    }
+}
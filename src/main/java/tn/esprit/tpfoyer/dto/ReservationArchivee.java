@@ -0,0 +1,26 @@
+package tn.esprit.tpfoyer.dto;
+
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.TypeChambre;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Réservation d'une année passée, lue dans l'archive froide : la réservation, sa chambre et ses
+ * étudiants tels qu'ils étaient à l'archivage (lecture seule).
+ */
+public record ReservationArchivee(
+        String idReservation,
+        Date anneeUniversitaire,
+        AnneeAcademique anneeAcademique,
+        boolean estValide,
+        ChambreArchivee chambre,
+        List<EtudiantArchive> etudiants) {
+
+    public record ChambreArchivee(long idChambre, long numeroChambre, TypeChambre typeC) {
+    }
+
+    public record EtudiantArchive(long idEtudiant, long cinEtudiant, String nomEtudiant, String prenomEtudiant) {
+    }
+}
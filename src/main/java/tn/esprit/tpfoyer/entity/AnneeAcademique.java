@@ -0,0 +1,80 @@
+package tn.esprit.tpfoyer.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Année universitaire, de septembre à août, identifiée par son année de rentrée : 2024 pour
+ * 2024-2025. Stockée en SMALLINT ({@link AnneeAcademiqueConverter}), écrite "2024-2025" en JSON.
+ */
+public record AnneeAcademique(int rentree) implements Comparable<AnneeAcademique> {
+
+    public static final Month PREMIER_MOIS = Month.SEPTEMBER;
+
+    public AnneeAcademique {
+        if (rentree < 1 || rentree >= Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Année de rentrée hors plage : " + rentree);
+        }
+    }
+
+    public static AnneeAcademique of(int rentree) {
+        return new AnneeAcademique(rentree);
+    }
+
+    public static AnneeAcademique de(LocalDate date) {
+        return new AnneeAcademique(date.getMonthValue() >= PREMIER_MOIS.getValue() ? date.getYear() : date.getYear() - 1);
+    }
+
+    // java.sql.Date ne supporte pas toInstant() : passage par les millisecondes
+    public static AnneeAcademique de(Date date) {
+        return de(LocalDate.ofInstant(Instant.ofEpochMilli(date.getTime()), ZoneId.systemDefault()));
+    }
+
+    public static AnneeAcademique courante() {
+        return de(LocalDate.now());
+    }
+
+    /** "2024-2025" ou "2024". */
+    @JsonCreator
+    public static AnneeAcademique parse(String text) {
+        try {
+            int separateur = text.indexOf('-');
+            if (separateur < 0) {
+                return of(Integer.parseInt(text.trim()));
+            }
+            AnneeAcademique annee = of(Integer.parseInt(text.substring(0, separateur).trim()));
+            if (Integer.parseInt(text.substring(separateur + 1).trim()) != annee.rentree() + 1) {
+                throw new IllegalArgumentException("Année universitaire invalide : " + text);
+            }
+            return annee;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Année universitaire invalide : " + text, e);
+        }
+    }
+
+    /** 1er septembre de l'année de rentrée. */
+    public LocalDate premierJour() {
+        return LocalDate.of(rentree, PREMIER_MOIS, 1);
+    }
+
+    public AnneeAcademique suivante() {
+        return of(rentree + 1);
+    }
+
+    @Override
+    public int compareTo(AnneeAcademique other) {
+        return Integer.compare(rentree, other.rentree);
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return rentree + "-" + (rentree + 1);
+    }
+}
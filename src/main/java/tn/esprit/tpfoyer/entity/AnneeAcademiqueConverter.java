@@ -0,0 +1,24 @@
+package tn.esprit.tpfoyer.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * {@link AnneeAcademique} en SMALLINT. La colonne est NOT NULL (clé de partitionnement sous
+ * MySQL) : 0 représente une réservation sans date.
+ */
+@Converter(autoApply = true)
+public class AnneeAcademiqueConverter implements AttributeConverter<AnneeAcademique, Short> {
+
+    public static final short SANS_ANNEE = 0;
+
+    @Override
+    public Short convertToDatabaseColumn(AnneeAcademique annee) {
+        return annee == null ? SANS_ANNEE : (short) annee.rentree();
+    }
+
+    @Override
+    public AnneeAcademique convertToEntityAttribute(Short value) {
+        return value == null || value == SANS_ANNEE ? null : AnneeAcademique.of(value);
+    }
+}
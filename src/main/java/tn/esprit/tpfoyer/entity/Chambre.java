@@ -4,6 +4,7 @@ package tn.esprit.tpfoyer.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.Set;
 
@@ -28,7 +29,9 @@ public class Chambre {
 
 
 
+    // Chargées par lots à la sérialisation d'une liste de chambres (pas une requête par chambre)
     @OneToMany
+    @BatchSize(size = 50)
     Set<Reservation> reservations;
 
     @ManyToOne(cascade = CascadeType.ALL)
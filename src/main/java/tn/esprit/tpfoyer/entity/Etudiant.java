@@ -1,5 +1,6 @@
 package tn.esprit.tpfoyer.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -8,6 +9,7 @@ import java.util.Date;
 import java.util.Set;
 
 @Entity
+@Table(indexes = @Index(name = "idx_etudiant_cin", columnList = "cin_etudiant"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -28,6 +30,8 @@ public class Etudiant {
     Date dateNaissance;
 
     @ManyToMany(mappedBy = "etudiants")
+    @JsonIgnore
+    @ToString.Exclude
     Set<Reservation> reservations;
 
 }
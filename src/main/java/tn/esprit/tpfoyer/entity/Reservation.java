@@ -1,14 +1,17 @@
 package tn.esprit.tpfoyer.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.Date;
 import java.util.Set;
 
 
 @Entity
+@Table(indexes = @Index(name = "idx_reservation_annee_valide", columnList = "annee_academique, est_valide"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -17,13 +20,21 @@ import java.util.Set;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Reservation {
 
+    // ULID généré à l'insertion s'il est absent ; les anciens identifiants libres restent acceptés
     @Id
+    @TimeOrderedId
+    @Column(length = Ulid.LENGTH)
     String idReservation;
 
 
     Date anneeUniversitaire;
     boolean estValide;
 
+    // Dérivée de anneeUniversitaire à chaque écriture : SMALLINT indexé, clé de partitionnement sous MySQL.
+    // Sans date, le convertisseur écrit 0 (pas de nullable = false : Hibernate refuserait le null avant conversion)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(columnDefinition = "smallint not null default 0")
+    AnneeAcademique anneeAcademique;
 
 
 
@@ -34,7 +45,12 @@ public class Reservation {
 
 
 
+
+    // Index sur l'étudiant : les recherches par CIN remontent la table de jointure dans ce sens.
+    // Chargés par lots à la sérialisation d'une liste de réservations
     @ManyToMany
+    @BatchSize(size = 50)
+    @JoinTable(indexes = @Index(name = "idx_reservation_etudiants_etudiant", columnList = "etudiants_id_etudiant"))
     Set<Etudiant> etudiants;
 
 
@@ -43,6 +59,12 @@ public class Reservation {
     /*@ToString.Exclude
     @JsonIgnore*/
 
+    @PrePersist
+    @PreUpdate
+    void synchroniserAnneeAcademique() {
+        anneeAcademique = anneeUniversitaire == null ? null : AnneeAcademique.de(anneeUniversitaire);
+    }
+
 }
 
 
@@ -0,0 +1,25 @@
+package tn.esprit.tpfoyer.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Ancien identifiant libre d'une réservation migrée vers un ULID
+ * ({@code ReservationIdMigration}) : les clients qui le connaissent retrouvent la réservation.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReservationIdAlias {
+
+    @Id
+    String legacyId;
+
+    @Column(length = Ulid.LENGTH, nullable = false)
+    String idReservation;
+}
@@ -0,0 +1,18 @@
+package tn.esprit.tpfoyer.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identifiant texte généré à l'insertion ({@link Ulid#next()}) s'il n'est pas fourni. Un
+ * identifiant déjà renseigné (client, migration) est conservé.
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,29 @@
+package tn.esprit.tpfoyer.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+
+/** Générateur de {@link TimeOrderedId}. */
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+
+    // Hibernate 6.5 ne transmet pas currentValue à l'insertion : l'identifiant assigné est relu sur l'entité
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        Object assigned = currentValue != null ? currentValue
+                : session.getEntityPersister(null, owner).getIdentifier(owner, session);
+        return assigned != null ? assigned : Ulid.next().toString();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
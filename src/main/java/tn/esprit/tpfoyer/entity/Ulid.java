@@ -0,0 +1,182 @@
+package tn.esprit.tpfoyer.entity;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Identifiant de 128 bits triable par date (format ULID) : 48 bits d'horodatage en millisecondes
+ * puis 80 bits aléatoires. Texte de 26 caractères en base 32 de Crockford, dont l'ordre
+ * lexicographique suit l'ordre chronologique ; forme binaire de 16 octets.
+ * <p>
+ * {@link #next()} est monotone : dans une même milliseconde, la partie aléatoire est incrémentée,
+ * les clés générées arrivent donc toujours en fin d'index.
+ */
+public final class Ulid implements Comparable<Ulid> {
+
+    public static final int LENGTH = 26;
+
+    private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODING = new byte[128];
+    private static final long MAX_TIMESTAMP = (1L << 48) - 1;
+
+    static {
+        Arrays.fill(DECODING, (byte) -1);
+        for (int i = 0; i < ENCODING.length; i++) {
+            DECODING[ENCODING[i]] = (byte) i;
+            DECODING[Character.toLowerCase(ENCODING[i])] = (byte) i;
+        }
+    }
+
+    private static final Generator DEFAULT = new Generator(new SecureRandom());
+
+    // 48 bits d'horodatage + 16 bits aléatoires | 64 bits aléatoires
+    private final long msb;
+    private final long lsb;
+
+    private Ulid(long msb, long lsb) {
+        this.msb = msb;
+        this.lsb = lsb;
+    }
+
+    /** Identifiant suivant, horodaté maintenant et strictement supérieur au précédent. */
+    public static Ulid next() {
+        return DEFAULT.next(System.currentTimeMillis());
+    }
+
+    /** Identifiant horodaté à {@code timestamp}, partie aléatoire tirée de {@code random} (non monotone). */
+    public static Ulid of(long timestamp, RandomGenerator random) {
+        if (timestamp < 0 || timestamp > MAX_TIMESTAMP) {
+            throw new IllegalArgumentException("Horodatage hors plage : " + timestamp);
+        }
+        return new Ulid(timestamp << 16 | (random.nextInt() & 0xFFFF), random.nextLong());
+    }
+
+    public static Ulid parse(String text) {
+        if (text == null || text.length() != LENGTH || text.charAt(0) > '7') {
+            throw new IllegalArgumentException("ULID invalide : " + text);
+        }
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = text.charAt(i);
+            int value = c < DECODING.length ? DECODING[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("ULID invalide : " + text);
+            }
+            // Décalage de 5 bits de la valeur 128 bits (msb:lsb)
+            msb = msb << 5 | lsb >>> 59;
+            lsb = lsb << 5 | value;
+        }
+        return new Ulid(msb, lsb);
+    }
+
+    public static boolean isValid(String text) {
+        if (text == null || text.length() != LENGTH || text.charAt(0) > '7') {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = text.charAt(i);
+            if (c >= DECODING.length || DECODING[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static Ulid fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Un ULID binaire fait 16 octets : " + bytes.length);
+        }
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = msb << 8 | (bytes[i] & 0xFF);
+            lsb = lsb << 8 | (bytes[i + 8] & 0xFF);
+        }
+        return new Ulid(msb, lsb);
+    }
+
+    /** Forme binaire big-endian (BINARY(16)), dans le même ordre que la forme texte. */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (msb >>> (56 - 8 * i));
+            bytes[i + 8] = (byte) (lsb >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    /** Horodatage en millisecondes depuis l'epoch. */
+    public long timestamp() {
+        return msb >>> 16;
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            int shift = (LENGTH - 1 - i) * 5;
+            long bits;
+            if (shift >= 64) {
+                bits = msb >>> (shift - 64);
+            } else if (shift > 59) {
+                bits = lsb >>> shift | msb << (64 - shift);
+            } else {
+                bits = lsb >>> shift;
+            }
+            chars[i] = ENCODING[(int) (bits & 31)];
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public int compareTo(Ulid other) {
+        int byMsb = Long.compareUnsigned(msb, other.msb);
+        return byMsb != 0 ? byMsb : Long.compareUnsigned(lsb, other.lsb);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Ulid other && msb == other.msb && lsb == other.lsb;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(msb) * 31 + Long.hashCode(lsb);
+    }
+
+    /**
+     * Générateur monotone : horodatages croissants, ou partie aléatoire incrémentée si l'horloge
+     * n'avance pas (même milliseconde, horloge reculée). Sûr entre threads.
+     */
+    public static final class Generator {
+
+        private final RandomGenerator random;
+        private boolean started;
+        private long lastMsb;
+        private long lastLsb;
+
+        public Generator(RandomGenerator random) {
+            this.random = random;
+        }
+
+        public synchronized Ulid next(long timestamp) {
+            if (timestamp < 0 || timestamp > MAX_TIMESTAMP) {
+                throw new IllegalArgumentException("Horodatage hors plage : " + timestamp);
+            }
+            if (started && timestamp <= lastMsb >>> 16) {
+                // +1 sur les 80 bits aléatoires ; en cas de débordement, milliseconde suivante
+                lastLsb++;
+                if (lastLsb == 0) {
+                    lastMsb++;
+                }
+            } else {
+                lastMsb = timestamp << 16 | (random.nextInt() & 0xFFFF);
+                lastLsb = random.nextLong();
+                started = true;
+            }
+            return new Ulid(lastMsb, lastLsb);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package tn.esprit.tpfoyer.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.AnneeAcademiqueConverter;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renseigne {@code reservation.annee_academique} pour les réservations écrites avant la colonne
+ * (ajoutée à 0 par Hibernate) : année calculée en Java à partir de {@code annee_universitaire},
+ * comme à l'écriture d'une entité. Parcours par batchs dans l'ordre des identifiants, chaque batch
+ * validé ; relancer ne reprend que les lignes restantes.
+ */
+@Component
+@Slf4j
+public class AnneeAcademiqueBackfill {
+
+    public record BackfillReport(long updated, Duration duration) {
+    }
+
+    private record Ligne(String id, AnneeAcademique annee) {
+    }
+
+    private final DataSource dataSource;
+
+    public AnneeAcademiqueBackfill(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public BackfillReport backfill(int batchSize) {
+        long start = System.nanoTime();
+        long updated = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement select = connection.prepareStatement("SELECT id_reservation, annee_universitaire "
+                         + "FROM reservation WHERE annee_academique = ? AND annee_universitaire IS NOT NULL "
+                         + "AND id_reservation > ? ORDER BY id_reservation LIMIT ?");
+                 PreparedStatement update = connection.prepareStatement(
+                         "UPDATE reservation SET annee_academique = ? WHERE id_reservation = ?")) {
+                String after = "";
+                List<Ligne> batch;
+                while (!(batch = batch(select, after, batchSize)).isEmpty()) {
+                    for (Ligne ligne : batch) {
+                        update.setShort(1, (short) ligne.annee().rentree());
+                        update.setString(2, ligne.id());
+                        update.addBatch();
+                    }
+                    update.executeBatch();
+                    connection.commit();
+                    updated += batch.size();
+                    after = batch.get(batch.size() - 1).id();
+                    log.info("Années universitaires renseignées : {}", updated);
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Renseignement des années universitaires impossible", e);
+        }
+        BackfillReport report = new BackfillReport(updated, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Années universitaires renseignées en {} ms : {} réservations", report.duration().toMillis(), report.updated());
+        return report;
+    }
+
+    private static List<Ligne> batch(PreparedStatement select, String after, int batchSize) throws SQLException {
+        select.setShort(1, AnneeAcademiqueConverter.SANS_ANNEE);
+        select.setString(2, after);
+        select.setInt(3, batchSize);
+        List<Ligne> batch = new ArrayList<>(batchSize);
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                batch.add(new Ligne(rs.getString(1), AnneeAcademique.de(rs.getTimestamp(2))));
+            }
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,37 @@
+package tn.esprit.tpfoyer.migration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profil backfill-annee-academique (voir application-backfill-annee-academique.properties) :
+ * renseigne l'année universitaire des réservations existantes puis arrête l'application.
+ */
+@Component
+@Profile("backfill-annee-academique")
+public class AnneeAcademiqueBackfillRunner implements ApplicationRunner {
+
+    private final AnneeAcademiqueBackfill backfill;
+    private final int batchSize;
+    private final ConfigurableApplicationContext context;
+
+    public AnneeAcademiqueBackfillRunner(AnneeAcademiqueBackfill backfill,
+                                         @Value("${tpfoyer.annee-academique-backfill.batch-size:1000}") int batchSize,
+                                         ConfigurableApplicationContext context) {
+        this.backfill = backfill;
+        this.batchSize = batchSize;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill.backfill(batchSize);
+        // Les pools de threads (scheduling, tableau de bord) garderaient la JVM en vie
+        System.exit(SpringApplication.exit(context));
+    }
+}
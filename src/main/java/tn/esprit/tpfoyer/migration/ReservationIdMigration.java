@@ -0,0 +1,111 @@
+package tn.esprit.tpfoyer.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tn.esprit.tpfoyer.entity.Ulid;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remplace les identifiants libres des réservations existantes par des ULID horodatés à leur
+ * année universitaire, dans l'ordre chronologique. Pour chaque réservation : copie sous le nouvel
+ * identifiant, report des tables de jointure, alias {@code reservation_id_alias} (ancien → nouveau),
+ * puis suppression de l'ancienne ligne. Chaque batch est validé ; relancer la migration ne
+ * reprend que les identifiants restants.
+ */
+@Component
+@Slf4j
+public class ReservationIdMigration {
+
+    public record MigrationReport(long migrated, Duration duration) {
+    }
+
+    private record Legacy(String id, long timestamp) {
+    }
+
+    // Dans l'ordre des clés étrangères : nouvelle ligne, jointures, alias, ancienne ligne
+    private static final List<String> STATEMENTS = List.of(
+            "INSERT INTO reservation (id_reservation, annee_universitaire, annee_academique, est_valide) "
+                    + "SELECT ?, annee_universitaire, annee_academique, est_valide FROM reservation WHERE id_reservation = ?",
+            "UPDATE reservation_etudiants SET reservations_id_reservation = ? WHERE reservations_id_reservation = ?",
+            "UPDATE chambre_reservations SET reservations_id_reservation = ? WHERE reservations_id_reservation = ?",
+            "INSERT INTO reservation_id_alias (id_reservation, legacy_id) VALUES (?, ?)",
+            "DELETE FROM reservation WHERE id_reservation = ?");
+
+    private final DataSource dataSource;
+
+    public ReservationIdMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public MigrationReport migrate(int batchSize) {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<Legacy> legacy = legacyIds(connection);
+                Ulid.Generator generator = new Ulid.Generator(new SecureRandom());
+                for (int from = 0; from < legacy.size(); from += batchSize) {
+                    List<Legacy> batch = legacy.subList(from, Math.min(legacy.size(), from + batchSize));
+                    List<String> ids = new ArrayList<>(batch.size());
+                    batch.forEach(l -> ids.add(generator.next(l.timestamp()).toString()));
+                    migrate(connection, batch, ids);
+                    connection.commit();
+                    log.info("Identifiants de réservation migrés : {}/{}", from + batch.size(), legacy.size());
+                }
+                MigrationReport report = new MigrationReport(legacy.size(), Duration.ofNanos(System.nanoTime() - start));
+                log.info("Migration des identifiants de réservation terminée en {} ms : {} réservations",
+                        report.duration().toMillis(), report.migrated());
+                return report;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Migration des identifiants de réservation impossible", e);
+        }
+    }
+
+    // Réservations à identifiant libre, de la plus ancienne à la plus récente (sans date : en premier)
+    private static List<Legacy> legacyIds(Connection connection) throws SQLException {
+        List<Legacy> legacy = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id_reservation, annee_universitaire FROM reservation "
+                     + "ORDER BY annee_universitaire, id_reservation")) {
+            while (rs.next()) {
+                String id = rs.getString(1);
+                if (!Ulid.isValid(id)) {
+                    Timestamp annee = rs.getTimestamp(2);
+                    legacy.add(new Legacy(id, annee == null ? 0 : Math.max(0, annee.getTime())));
+                }
+            }
+        }
+        return legacy;
+    }
+
+    private static void migrate(Connection connection, List<Legacy> batch, List<String> ids) throws SQLException {
+        for (int s = 0; s < STATEMENTS.size(); s++) {
+            boolean delete = s == STATEMENTS.size() - 1;
+            try (PreparedStatement statement = connection.prepareStatement(STATEMENTS.get(s))) {
+                for (int i = 0; i < batch.size(); i++) {
+                    if (delete) {
+                        statement.setString(1, batch.get(i).id());
+                    } else {
+                        statement.setString(1, ids.get(i));
+                        statement.setString(2, batch.get(i).id());
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+}
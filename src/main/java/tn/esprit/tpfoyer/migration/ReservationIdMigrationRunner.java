@@ -0,0 +1,37 @@
+package tn.esprit.tpfoyer.migration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profil migrate-reservation-ids (voir application-migrate-reservation-ids.properties) : migre
+ * les identifiants libres des réservations vers des ULID puis arrête l'application.
+ */
+@Component
+@Profile("migrate-reservation-ids")
+public class ReservationIdMigrationRunner implements ApplicationRunner {
+
+    private final ReservationIdMigration migration;
+    private final int batchSize;
+    private final ConfigurableApplicationContext context;
+
+    public ReservationIdMigrationRunner(ReservationIdMigration migration,
+                                        @Value("${tpfoyer.reservation-id-migration.batch-size:1000}") int batchSize,
+                                        ConfigurableApplicationContext context) {
+        this.migration = migration;
+        this.batchSize = batchSize;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migration.migrate(batchSize);
+        // Les pools de threads (scheduling, tableau de bord) garderaient la JVM en vie
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -21,7 +21,7 @@ import java.util.List;
 
 
 @Repository
- public interface BlocRepository extends JpaRepository<Bloc, Long> {
+ public interface BlocRepository extends JpaRepository<Bloc, Long>, ProjectionRepository<Bloc, Long> {
 
 
 
@@ -103,6 +103,9 @@ import java.util.List;
     // List des blocs non affectés à aucun foyer :
     List<Bloc> findAllByFoyerIsNull();
 
+    // List des blocs d'un foyer donné :
+    List<Bloc> findAllByFoyerIdFoyer(Long idFoyer);
+
 
     //Bloc findByC
     //findAllByFoyerIsNull();
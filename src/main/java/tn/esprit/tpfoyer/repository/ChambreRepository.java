@@ -4,13 +4,14 @@ package tn.esprit.tpfoyer.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
 import tn.esprit.tpfoyer.entity.Chambre;
 import tn.esprit.tpfoyer.entity.TypeChambre;
 
 import java.util.List;
 
 @Repository
-public interface ChambreRepository extends JpaRepository<Chambre, Long> {
+public interface ChambreRepository extends JpaRepository<Chambre, Long>, ProjectionRepository<Chambre, Long> {
 
 
 
@@ -74,6 +75,20 @@ public interface ChambreRepository extends JpaRepository<Chambre, Long> {
     Chambre trouverChselonEt(long cin);
 
 
+    // Nombre de chambres par bloc et par type pour un foyer : [idBloc, typeC, nombre]
+    @Query("SELECT ch.bloc.idBloc, ch.typeC, COUNT(ch) FROM Chambre ch " +
+            "WHERE ch.bloc.foyer.idFoyer = :idFoyer " +
+            "GROUP BY ch.bloc.idBloc, ch.typeC")
+    List<Object[]> compterChambresParBlocEtType(Long idFoyer);
+
+    // Réservations des chambres d'un foyer pour une année universitaire : [total, valides]
+    @Query("SELECT COUNT(r), COALESCE(SUM(CASE WHEN r.estValide = true THEN 1 ELSE 0 END), 0) FROM Chambre ch " +
+            "INNER JOIN ch.reservations r " +
+            "WHERE ch.bloc.foyer.idFoyer = :idFoyer " +
+            "AND r.anneeAcademique = :annee")
+    List<Object[]> compterReservationsParFoyer(Long idFoyer, AnneeAcademique annee);
+
+
 
 
 
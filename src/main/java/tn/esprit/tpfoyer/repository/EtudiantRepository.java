@@ -5,9 +5,15 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import tn.esprit.tpfoyer.entity.Etudiant;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {
+public interface EtudiantRepository extends JpaRepository<Etudiant, Long>, ProjectionRepository<Etudiant, Long> {
 
     Etudiant findEtudiantByCinEtudiant(long cin);
 
+    // Récupérer les étudiants d'une liste de CIN (clause IN) :
+    List<Etudiant> findAllByCinEtudiantIn(Collection<Long> cins);
+
 }
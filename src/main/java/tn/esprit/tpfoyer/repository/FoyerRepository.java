@@ -5,7 +5,7 @@ import org.springframework.stereotype.Repository;
 import tn.esprit.tpfoyer.entity.Foyer;
 
 @Repository
-public interface FoyerRepository extends JpaRepository<Foyer, Long>
+public interface FoyerRepository extends JpaRepository<Foyer, Long>, ProjectionRepository<Foyer, Long>
 {
 
     /* No need to code CRUD here. Its is already in the
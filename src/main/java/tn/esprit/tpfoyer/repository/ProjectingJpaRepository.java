@@ -0,0 +1,170 @@
+package tn.esprit.tpfoyer.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Implémentation de base des repositories (voir {@code @EnableJpaRepositories} sur l'application) :
+ * ajoute les lectures projetées de {@link ProjectionRepository} au CRUD de Spring Data.
+ * <p>
+ * Les listes d'identifiants ou de valeurs viennent du client ({@code ?ids=}) : les clauses IN sont
+ * découpées en lots de {@link #IN_LIST_BATCH_SIZE} valeurs distinctes, une requête par lot.
+ */
+public class ProjectingJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements ProjectionRepository<T, ID> {
+
+    // Même borne que les recherches par CIN (EtudiantServiceImpl.CIN_BATCH_SIZE)
+    static final int IN_LIST_BATCH_SIZE = 500;
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+
+    public ProjectingJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        List<ID> distincts = new ArrayList<>(new LinkedHashSet<>(toList(ids)));
+        return parLots(distincts, super::findAllById);
+    }
+
+    @Override
+    public List<T> findAllProjected(Set<String> fields) {
+        Set<String> columns = columns(fields);
+        if (columns == null) {
+            return findAll();
+        }
+        CriteriaQuery<Tuple> query = select(columns);
+        return entityManager.createQuery(query).getResultStream()
+                .map(tuple -> toEntity(tuple, columns))
+                .toList();
+    }
+
+    @Override
+    public Optional<T> findByIdProjected(ID id, Set<String> fields) {
+        Set<String> columns = columns(fields);
+        if (columns == null) {
+            return findById(id);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(columns);
+        Root<?> root = query.getRoots().iterator().next();
+        query.where(cb.equal(root.get(entityInformation.getIdAttribute().getName()), id));
+        return entityManager.createQuery(query).getResultStream()
+                .findFirst()
+                .map(tuple -> toEntity(tuple, columns));
+    }
+
+    @Override
+    public List<T> findAllByIdProjected(Collection<ID> ids, Set<String> fields) {
+        Set<String> columns = columns(fields);
+        if (columns == null) {
+            return findAllById(ids);
+        }
+        return findAllIn(entityInformation.getIdAttribute().getName(), ids, columns);
+    }
+
+    @Override
+    public List<T> findAllByProjected(String attribute, Collection<?> values, Set<String> fields) {
+        Set<String> requested = new LinkedHashSet<>(fields);
+        requested.add(attribute);
+        Set<String> columns = columns(requested);
+        if (columns == null) {
+            return parLots(new ArrayList<>(new LinkedHashSet<>(values)), lot -> {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<T> query = cb.createQuery(getDomainClass());
+                Root<T> root = query.from(getDomainClass());
+                return entityManager.createQuery(query.select(root).where(root.get(attribute).in(lot))).getResultList();
+            });
+        }
+        return findAllIn(attribute, values, columns);
+    }
+
+    private List<T> findAllIn(String attribute, Collection<?> values, Set<String> columns) {
+        return parLots(new ArrayList<>(new LinkedHashSet<>(values)), lot -> {
+            CriteriaQuery<Tuple> query = select(columns);
+            Root<?> root = query.getRoots().iterator().next();
+            query.where(root.get(attribute).in(lot));
+            return entityManager.createQuery(query).getResultStream()
+                    .map(tuple -> toEntity(tuple, columns))
+                    .toList();
+        });
+    }
+
+    private static <V, R> List<R> parLots(List<V> values, Function<List<V>, List<R>> lecture) {
+        if (values.isEmpty()) {
+            return List.of();
+        }
+        if (values.size() <= IN_LIST_BATCH_SIZE) {
+            return lecture.apply(values);
+        }
+        List<R> resultats = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i += IN_LIST_BATCH_SIZE) {
+            resultats.addAll(lecture.apply(values.subList(i, Math.min(i + IN_LIST_BATCH_SIZE, values.size()))));
+        }
+        return resultats;
+    }
+
+    private static <V> List<V> toList(Iterable<V> values) {
+        List<V> list = new ArrayList<>();
+        values.forEach(list::add);
+        return list;
+    }
+
+    // Identifiant + champs demandés, ou null si un champ ne correspond pas à une colonne de l'entité
+    private Set<String> columns(Set<String> fields) {
+        EntityType<T> type = entityManager.getMetamodel().entity(getDomainClass());
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add(entityInformation.getIdAttribute().getName());
+        for (String field : fields) {
+            Attribute<? super T, ?> attribute = type.getAttributes().stream()
+                    .filter(a -> a.getName().equals(field))
+                    .findFirst()
+                    .orElse(null);
+            if (attribute == null || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                return null;
+            }
+            columns.add(field);
+        }
+        return columns;
+    }
+
+    private CriteriaQuery<Tuple> select(Set<String> columns) {
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            selections.add(root.get(column).alias(column));
+        }
+        return query.multiselect(selections);
+    }
+
+    private T toEntity(Tuple tuple, Set<String> columns) {
+        T entity = BeanUtils.instantiateClass(getDomainClass());
+        DirectFieldAccessor accessor = new DirectFieldAccessor(entity);
+        for (String column : columns) {
+            accessor.setPropertyValue(column, tuple.get(column));
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,32 @@
+package tn.esprit.tpfoyer.repository;
+
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lectures limitées aux colonnes demandées ({@code ?fields=}) : seuls les attributs simples
+ * demandés et l'identifiant sont sélectionnés. Les entités renvoyées sont détachées et
+ * partiellement remplies, à n'utiliser qu'en lecture.
+ * <p>
+ * Si un champ demandé n'est pas une colonne de l'entité (association, propriété calculée),
+ * l'entité complète est chargée.
+ */
+@NoRepositoryBean
+public interface ProjectionRepository<T, ID> {
+
+    List<T> findAllProjected(Set<String> fields);
+
+    Optional<T> findByIdProjected(ID id, Set<String> fields);
+
+    List<T> findAllByIdProjected(Collection<ID> ids, Set<String> fields);
+
+    /**
+     * Entités dont l'attribut simple {@code attribute} vaut l'une des {@code values} (clause IN) ;
+     * l'attribut est toujours sélectionné, pour retrouver la clé de chaque résultat.
+     */
+    List<T> findAllByProjected(String attribute, Collection<?> values, Set<String> fields);
+}
@@ -0,0 +1,11 @@
+package tn.esprit.tpfoyer.repository;
+
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import tn.esprit.tpfoyer.entity.ReservationIdAlias;
+
+@Repository
+public interface ReservationIdAliasRepository extends JpaRepository<ReservationIdAlias, String>
+{
+}
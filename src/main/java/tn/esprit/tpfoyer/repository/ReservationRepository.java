@@ -3,13 +3,14 @@ package tn.esprit.tpfoyer.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
 import tn.esprit.tpfoyer.entity.Reservation;
 
 import java.util.Date;
 import java.util.List;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, String>
+public interface ReservationRepository extends JpaRepository<Reservation, String>, ProjectionRepository<Reservation, String>
 {
 
     /* No need to code CRUD here. Its is already in the
@@ -21,7 +22,10 @@ public interface ReservationRepository extends JpaRepository<Reservation, String
 
     /* Keywords : */
 
-    List<Reservation> findAllByAnneeUniversitaireBeforeAndEstValide(Date d, boolean b );
+    // La borne sur l'année (SMALLINT indexé, clé de partitionnement) limite le parcours aux années concernées
+    List<Reservation> findAllByAnneeAcademiqueLessThanEqualAndAnneeUniversitaireBeforeAndEstValide(AnneeAcademique a, Date d, boolean b);
+
+    List<Reservation> findAllByAnneeAcademiqueAndEstValide(AnneeAcademique a, boolean b);
 
 }
 
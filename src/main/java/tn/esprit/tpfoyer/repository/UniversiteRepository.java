@@ -6,8 +6,10 @@ import org.springframework.stereotype.Repository;
 import tn.esprit.tpfoyer.entity.Universite;
 
 @Repository
-public interface UniversiteRepository extends JpaRepository<Universite, Long>
+public interface UniversiteRepository extends JpaRepository<Universite, Long>, ProjectionRepository<Universite, Long>
 {
 
+    // Récupérer l'université à laquelle un foyer est affecté :
+    Universite findByFoyerIdFoyer(Long idFoyer);
 
 }
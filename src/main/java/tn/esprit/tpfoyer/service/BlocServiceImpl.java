@@ -1,25 +1,40 @@
 package tn.esprit.tpfoyer.service;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Bloc;
 import tn.esprit.tpfoyer.repository.BlocRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Service
-@AllArgsConstructor
 @Slf4j  // Simple Loggining Façade For Java
 public class BlocServiceImpl  implements IBlocService {
 
 
     BlocRepository blocRepository;
 
+    // Les appels concurrents pour un même id partagent une seule requête
+    private final SingleFlight<Long, Bloc> blocLoads;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BlocServiceImpl(BlocRepository blocRepository, MeterRegistry meterRegistry,
+                           PlatformTransactionManager transactionManager) {
+        this.blocRepository = blocRepository;
+        this.blocLoads = new SingleFlight<>("bloc", meterRegistry);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
     @Scheduled(fixedRate = 30000) // millisecondes // cron fixedRate
     //@Scheduled(cron="0/15 * * * * *")
     public List<Bloc> retrieveAllBlocs() {
@@ -48,13 +63,27 @@ public class BlocServiceImpl  implements IBlocService {
         return listBselonC;
     }
 
-    @Transactional
+    // Hors transaction : seul le premier appelant ouvre une transaction (et prend une connexion),
+    // les appelants coalescés attendent son résultat sans en occuper une.
     public Bloc retrieveBloc(Long blocId) {
 
-        return blocRepository.findById(blocId).get();
+        return blocLoads.load(blocId, () -> readOnlyTransaction.execute(status -> blocRepository.findById(blocId).get()));
     }
 
 
+    public BatchResult<Bloc, Long> retrieveBlocs(List<Long> blocIds) {
+        return BatchResult.of(blocIds, blocRepository.findAllById(blocIds), Bloc::getIdBloc);
+    }
+    public BatchResult<Bloc, Long> retrieveBlocs(List<Long> blocIds, Set<String> fields) {
+        return BatchResult.of(blocIds, blocRepository.findAllByIdProjected(blocIds, fields), Bloc::getIdBloc);
+    }
+    // Seules les colonnes demandées sont lues (entités détachées, partielles)
+    public List<Bloc> retrieveAllBlocs(Set<String> fields) {
+        return blocRepository.findAllProjected(fields);
+    }
+    public Bloc retrieveBloc(Long blocId, Set<String> fields) {
+        return blocRepository.findByIdProjected(blocId, fields).get();
+    }
     public Bloc addBloc(Bloc c) {
 
         return blocRepository.save(c);
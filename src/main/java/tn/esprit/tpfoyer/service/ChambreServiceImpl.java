@@ -4,11 +4,13 @@ package tn.esprit.tpfoyer.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Chambre;
 import tn.esprit.tpfoyer.entity.TypeChambre;
 import tn.esprit.tpfoyer.repository.ChambreRepository;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
@@ -30,6 +32,19 @@ public class ChambreServiceImpl implements IChambreService {
         return c;
     }
 
+    public BatchResult<Chambre, Long> retrieveChambres(List<Long> chambreIds) {
+        return BatchResult.of(chambreIds, chambreRepository.findAllById(chambreIds), Chambre::getIdChambre);
+    }
+    public BatchResult<Chambre, Long> retrieveChambres(List<Long> chambreIds, Set<String> fields) {
+        return BatchResult.of(chambreIds, chambreRepository.findAllByIdProjected(chambreIds, fields), Chambre::getIdChambre);
+    }
+    // Seules les colonnes demandées sont lues (entités détachées, partielles)
+    public List<Chambre> retrieveAllChambres(Set<String> fields) {
+        return chambreRepository.findAllProjected(fields);
+    }
+    public Chambre retrieveChambre(Long chambreId, Set<String> fields) {
+        return chambreRepository.findByIdProjected(chambreId, fields).get();
+    }
     public Chambre addChambre(Chambre c) {
         Chambre chambre = chambreRepository.save(c);
         return chambre;
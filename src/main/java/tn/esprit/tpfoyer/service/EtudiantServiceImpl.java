@@ -1,26 +1,59 @@
 package tn.esprit.tpfoyer.service;
 
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Etudiant;
 import tn.esprit.tpfoyer.repository.EtudiantRepository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
-@AllArgsConstructor
 public class EtudiantServiceImpl implements IEtudiantService {
 
 
+    // Taille maximale d'une clause IN : au-delà, la liste est découpée en plusieurs requêtes
+    static final int CIN_BATCH_SIZE = 500;
+
     EtudiantRepository etudiantRepository;
 
+    // Les appels concurrents pour un même CIN partagent une seule requête
+    private final SingleFlight<Long, Etudiant> etudiantParCinLoads;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EtudiantServiceImpl(EtudiantRepository etudiantRepository, MeterRegistry meterRegistry,
+                               PlatformTransactionManager transactionManager) {
+        this.etudiantRepository = etudiantRepository;
+        this.etudiantParCinLoads = new SingleFlight<>("etudiant-cin", meterRegistry);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
     public List<Etudiant> retrieveAllEtudiants() {
         return etudiantRepository.findAll();
     }
     public Etudiant retrieveEtudiant(Long etudiantId) {
         return etudiantRepository.findById(etudiantId).get();
     }
+    public BatchResult<Etudiant, Long> retrieveEtudiants(List<Long> etudiantIds) {
+        return BatchResult.of(etudiantIds, etudiantRepository.findAllById(etudiantIds), Etudiant::getIdEtudiant);
+    }
+    public BatchResult<Etudiant, Long> retrieveEtudiants(List<Long> etudiantIds, Set<String> fields) {
+        return BatchResult.of(etudiantIds, etudiantRepository.findAllByIdProjected(etudiantIds, fields), Etudiant::getIdEtudiant);
+    }
+    // Seules les colonnes demandées sont lues (entités détachées, partielles)
+    public List<Etudiant> retrieveAllEtudiants(Set<String> fields) {
+        return etudiantRepository.findAllProjected(fields);
+    }
+    public Etudiant retrieveEtudiant(Long etudiantId, Set<String> fields) {
+        return etudiantRepository.findByIdProjected(etudiantId, fields).get();
+    }
     public Etudiant addEtudiant(Etudiant c) {
         return etudiantRepository.save(c);
     }
@@ -30,9 +63,39 @@ public class EtudiantServiceImpl implements IEtudiantService {
     public void removeEtudiant(Long etudiantId) {
         etudiantRepository.deleteById(etudiantId);
     }
+    // Hors transaction : seul le premier appelant ouvre une transaction (et prend une connexion),
+    // les appelants coalescés attendent son résultat sans en occuper une.
     public Etudiant recupererEtudiantParCin(long cin)
     {
-        return etudiantRepository.findEtudiantByCinEtudiant(cin);
+        return etudiantParCinLoads.load(cin, () -> readOnlyTransaction.execute(
+                status -> etudiantRepository.findEtudiantByCinEtudiant(cin)));
+    }
+
+    // Seules les colonnes demandées (et le CIN) sont lues, sans coalescence : entité partielle propre à l'appel
+    public Etudiant recupererEtudiantParCin(long cin, Set<String> fields)
+    {
+        return etudiantRepository.findAllByProjected("cinEtudiant", List.of(cin), fields).stream()
+                .findFirst().orElse(null);
+    }
+
+    public BatchResult<Etudiant, Long> recupererEtudiantsParCins(List<Long> cins)
+    {
+        return parLotsDeCins(cins, etudiantRepository::findAllByCinEtudiantIn);
+    }
+
+    public BatchResult<Etudiant, Long> recupererEtudiantsParCins(List<Long> cins, Set<String> fields)
+    {
+        return parLotsDeCins(cins, lot -> etudiantRepository.findAllByProjected("cinEtudiant", lot, fields));
+    }
+
+    private BatchResult<Etudiant, Long> parLotsDeCins(List<Long> cins, Function<List<Long>, List<Etudiant>> lecture)
+    {
+        List<Long> distincts = cins.stream().distinct().toList();
+        List<Etudiant> etudiants = new ArrayList<>(distincts.size());
+        for (int i = 0; i < distincts.size(); i += CIN_BATCH_SIZE) {
+            etudiants.addAll(lecture.apply(distincts.subList(i, Math.min(i + CIN_BATCH_SIZE, distincts.size()))));
+        }
+        return BatchResult.of(cins, etudiants, Etudiant::getCinEtudiant);
     }
 
 
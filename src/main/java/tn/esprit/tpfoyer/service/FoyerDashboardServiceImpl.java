@@ -0,0 +1,159 @@
+package tn.esprit.tpfoyer.service;
+
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.tpfoyer.config.SqlStatementStats;
+import tn.esprit.tpfoyer.dto.FoyerDashboard;
+import tn.esprit.tpfoyer.dto.FoyerDashboard.BlocResume;
+import tn.esprit.tpfoyer.dto.FoyerDashboard.ReservationTotaux;
+import tn.esprit.tpfoyer.dto.FoyerDashboard.UniversiteResume;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.Bloc;
+import tn.esprit.tpfoyer.entity.Foyer;
+import tn.esprit.tpfoyer.entity.TypeChambre;
+import tn.esprit.tpfoyer.entity.Universite;
+import tn.esprit.tpfoyer.repository.BlocRepository;
+import tn.esprit.tpfoyer.repository.ChambreRepository;
+import tn.esprit.tpfoyer.repository.FoyerRepository;
+import tn.esprit.tpfoyer.repository.UniversiteRepository;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+public class FoyerDashboardServiceImpl implements IFoyerDashboardService {
+
+    FoyerRepository foyerRepository;
+    UniversiteRepository universiteRepository;
+    BlocRepository blocRepository;
+    ChambreRepository chambreRepository;
+    ThreadPoolTaskExecutor dashboardExecutor;
+    Duration timeout;
+
+    // Pool borné propre au tableau de bord (pas un bean Executor, pour ne pas remplacer
+    // l'applicationTaskExecutor de Spring Boot) : au-delà de la file, la tâche s'exécute
+    // dans le thread appelant plutôt que d'être rejetée.
+    public FoyerDashboardServiceImpl(FoyerRepository foyerRepository,
+                                     UniversiteRepository universiteRepository,
+                                     BlocRepository blocRepository,
+                                     ChambreRepository chambreRepository,
+                                     @Value("${tpfoyer.dashboard.pool-size:8}") int poolSize,
+                                     @Value("${tpfoyer.dashboard.queue-capacity:100}") int queueCapacity,
+                                     @Value("${tpfoyer.dashboard.timeout:5s}") Duration timeout,
+                                     Environment environment) {
+        this.foyerRepository = foyerRepository;
+        this.universiteRepository = universiteRepository;
+        this.blocRepository = blocRepository;
+        this.chambreRepository = chambreRepository;
+        this.dashboardExecutor = executor(poolSize, queueCapacity, Threading.VIRTUAL.isActive(environment));
+        this.timeout = timeout;
+    }
+
+    private static ThreadPoolTaskExecutor executor(int poolSize, int queueCapacity, boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Les requêtes SQL des tâches sont comptées dans les en-têtes X-Sql-* de la requête HTTP
+        executor.setTaskDecorator(SqlStatementStats.taskDecorator());
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("dashboard-").getVirtualThreadFactory());
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dashboardExecutor.shutdown();
+    }
+
+    // Les 5 requêtes partent en parallèle : la latence est celle de la plus lente, pas leur somme.
+    // Au délai ou à la première erreur, les requêtes restantes sont annulées (retirées de la file,
+    // threads interrompus) pour ne pas occuper le pool après la réponse.
+    public FoyerDashboard retrieveFoyerDashboard(Long foyerId) {
+        AnneeAcademique annee = AnneeAcademique.courante();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        Future<Foyer> foyer = async(() -> foyerRepository.findById(foyerId)
+                .orElseThrow(() -> new NoSuchElementException("Foyer not found with id: " + foyerId)));
+        Future<Universite> universite = async(() -> universiteRepository.findByFoyerIdFoyer(foyerId));
+        Future<List<Bloc>> blocs = async(() -> blocRepository.findAllByFoyerIdFoyer(foyerId));
+        Future<List<Object[]>> chambres = async(() -> chambreRepository.compterChambresParBlocEtType(foyerId));
+        Future<List<Object[]>> reservations = async(() -> chambreRepository.compterReservationsParFoyer(
+                foyerId, annee));
+        List<Future<?>> requetes = List.of(foyer, universite, blocs, chambres, reservations);
+
+        try {
+            return compose(get(foyer, deadline), get(universite, deadline),
+                    blocResumes(get(blocs, deadline), get(chambres, deadline)),
+                    reservationTotaux(annee.rentree(), get(reservations, deadline)));
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Tableau de bord du foyer " + foyerId + " non calculé en " + timeout.toMillis() + " ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Tableau de bord du foyer " + foyerId + " indisponible", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tableau de bord du foyer " + foyerId + " interrompu", e);
+        } finally {
+            requetes.forEach(requete -> requete.cancel(true));
+        }
+    }
+
+    private <T> Future<T> async(Supplier<T> query) {
+        return dashboardExecutor.submit(query::get);
+    }
+
+    private static <T> T get(Future<T> future, long deadline)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private static FoyerDashboard compose(Foyer f, Universite u, List<BlocResume> blocs, ReservationTotaux totaux) {
+        UniversiteResume universite = u == null ? null
+                : new UniversiteResume(u.getIdUniversite(), u.getNomUniversite(), u.getAdresse());
+        return new FoyerDashboard(f.getIdFoyer(), f.getNomFoyer(), f.getCapaciteFoyer(), universite, blocs, totaux);
+    }
+
+    private static List<BlocResume> blocResumes(List<Bloc> blocs, List<Object[]> comptes) {
+        Map<Long, Map<TypeChambre, Long>> parBloc = new HashMap<>();
+        for (Object[] ligne : comptes) {
+            parBloc.computeIfAbsent((Long) ligne[0], id -> new EnumMap<>(TypeChambre.class))
+                    .put((TypeChambre) ligne[1], (Long) ligne[2]);
+        }
+        List<BlocResume> resumes = new ArrayList<>(blocs.size());
+        for (Bloc b : blocs) {
+            resumes.add(new BlocResume(b.getIdBloc(), b.getNomBloc(), b.getCapaciteBloc(),
+                    parBloc.getOrDefault(b.getIdBloc(), Collections.emptyMap())));
+        }
+        return resumes;
+    }
+
+    private static ReservationTotaux reservationTotaux(int anneeDebut, List<Object[]> lignes) {
+        if (lignes.isEmpty()) {
+            return new ReservationTotaux(anneeDebut, 0, 0);
+        }
+        Object[] ligne = lignes.get(0);
+        return new ReservationTotaux(anneeDebut, ((Number) ligne[0]).longValue(), ((Number) ligne[1]).longValue());
+    }
+}
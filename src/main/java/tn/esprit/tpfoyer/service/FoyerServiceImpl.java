@@ -1,24 +1,48 @@
 package tn.esprit.tpfoyer.service;
 
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Foyer;
 import tn.esprit.tpfoyer.repository.FoyerRepository;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 @Service
-@AllArgsConstructor
 public class FoyerServiceImpl implements IFoyerService {
 
     FoyerRepository foyerRepository;
+
+    // Les appels concurrents pour un même id partagent une seule requête
+    private final SingleFlight<Long, Foyer> foyerLoads;
+
+    public FoyerServiceImpl(FoyerRepository foyerRepository, MeterRegistry meterRegistry) {
+        this.foyerRepository = foyerRepository;
+        this.foyerLoads = new SingleFlight<>("foyer", meterRegistry);
+    }
+
     public List<Foyer> retrieveAllFoyers() {
         return foyerRepository.findAll();
     }
     public Foyer retrieveFoyer(Long foyerId) {
-        return foyerRepository.findById(foyerId)
+        return foyerLoads.load(foyerId, () -> foyerRepository.findById(foyerId)
+                .orElseThrow(() -> new NoSuchElementException("Foyer not found with id: " + foyerId)));
+    }
+    public BatchResult<Foyer, Long> retrieveFoyers(List<Long> foyerIds) {
+        return BatchResult.of(foyerIds, foyerRepository.findAllById(foyerIds), Foyer::getIdFoyer);
+    }
+    public BatchResult<Foyer, Long> retrieveFoyers(List<Long> foyerIds, Set<String> fields) {
+        return BatchResult.of(foyerIds, foyerRepository.findAllByIdProjected(foyerIds, fields), Foyer::getIdFoyer);
+    }
+    // Seules les colonnes demandées sont lues (entités détachées, partielles)
+    public List<Foyer> retrieveAllFoyers(Set<String> fields) {
+        return foyerRepository.findAllProjected(fields);
+    }
+    public Foyer retrieveFoyer(Long foyerId, Set<String> fields) {
+        return foyerRepository.findByIdProjected(foyerId, fields)
                 .orElseThrow(() -> new NoSuchElementException("Foyer not found with id: " + foyerId));
     }
     public Foyer addFoyer(Foyer f) {
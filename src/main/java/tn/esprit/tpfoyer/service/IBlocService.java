@@ -1,13 +1,19 @@
 package tn.esprit.tpfoyer.service;
 
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Bloc;
 
 import java.util.List;
+import java.util.Set;
 
 public interface IBlocService {
 
     public List<Bloc> retrieveAllBlocs();
     public Bloc retrieveBloc(Long blocId);
+    public BatchResult<Bloc, Long> retrieveBlocs(List<Long> blocIds);
+    public BatchResult<Bloc, Long> retrieveBlocs(List<Long> blocIds, Set<String> fields);
+    public List<Bloc> retrieveAllBlocs(Set<String> fields);
+    public Bloc retrieveBloc(Long blocId, Set<String> fields);
     public Bloc addBloc(Bloc c);
     public void removeBloc(Long blocId);
     public Bloc modifyBloc(Bloc bloc);
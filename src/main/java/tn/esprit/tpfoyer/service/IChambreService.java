@@ -1,14 +1,20 @@
 package tn.esprit.tpfoyer.service;
 
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Chambre;
 import tn.esprit.tpfoyer.entity.TypeChambre;
 
 import java.util.List;
+import java.util.Set;
 
 public interface IChambreService {
 
     public List<Chambre> retrieveAllChambres();
     public Chambre retrieveChambre(Long chambreId);
+    public BatchResult<Chambre, Long> retrieveChambres(List<Long> chambreIds);
+    public BatchResult<Chambre, Long> retrieveChambres(List<Long> chambreIds, Set<String> fields);
+    public List<Chambre> retrieveAllChambres(Set<String> fields);
+    public Chambre retrieveChambre(Long chambreId, Set<String> fields);
     public Chambre addChambre(Chambre c);
     public void removeChambre(Long chambreId);
     public Chambre modifyChambre(Chambre chambre);
@@ -1,17 +1,26 @@
 package tn.esprit.tpfoyer.service;
 
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Etudiant;
 
 import java.util.List;
+import java.util.Set;
 
 public interface IEtudiantService {
 
     public List<Etudiant> retrieveAllEtudiants();
     public Etudiant retrieveEtudiant(Long etudiantId);
+    public BatchResult<Etudiant, Long> retrieveEtudiants(List<Long> etudiantIds);
+    public BatchResult<Etudiant, Long> retrieveEtudiants(List<Long> etudiantIds, Set<String> fields);
+    public List<Etudiant> retrieveAllEtudiants(Set<String> fields);
+    public Etudiant retrieveEtudiant(Long etudiantId, Set<String> fields);
     public Etudiant addEtudiant(Etudiant c);
     public void removeEtudiant(Long etudiantId);
     public Etudiant modifyEtudiant(Etudiant etudiant);
     public Etudiant recupererEtudiantParCin(long cin);
+    public BatchResult<Etudiant, Long> recupererEtudiantsParCins(List<Long> cins);
+    public Etudiant recupererEtudiantParCin(long cin, Set<String> fields);
+    public BatchResult<Etudiant, Long> recupererEtudiantsParCins(List<Long> cins, Set<String> fields);
 
 
 }
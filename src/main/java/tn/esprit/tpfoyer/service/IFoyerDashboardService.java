@@ -0,0 +1,9 @@
+package tn.esprit.tpfoyer.service;
+
+import tn.esprit.tpfoyer.dto.FoyerDashboard;
+
+public interface IFoyerDashboardService {
+
+    public FoyerDashboard retrieveFoyerDashboard(Long foyerId);
+
+}
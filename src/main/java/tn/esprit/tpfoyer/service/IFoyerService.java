@@ -1,13 +1,19 @@
 package tn.esprit.tpfoyer.service;
 
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Foyer;
 
 import java.util.List;
+import java.util.Set;
 
 public interface IFoyerService {
 
     public List<Foyer> retrieveAllFoyers();
     public Foyer retrieveFoyer(Long foyerId);
+    public BatchResult<Foyer, Long> retrieveFoyers(List<Long> foyerIds);
+    public BatchResult<Foyer, Long> retrieveFoyers(List<Long> foyerIds, Set<String> fields);
+    public List<Foyer> retrieveAllFoyers(Set<String> fields);
+    public Foyer retrieveFoyer(Long foyerId, Set<String> fields);
     public Foyer addFoyer(Foyer f);
     public void removeFoyer(Long foyerId);
     public Foyer modifyFoyer(Foyer foyer);
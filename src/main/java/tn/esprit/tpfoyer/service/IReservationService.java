@@ -1,18 +1,31 @@
 package tn.esprit.tpfoyer.service;
 
+import tn.esprit.tpfoyer.dto.BatchResult;
+import tn.esprit.tpfoyer.dto.ReservationArchivee;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
 import tn.esprit.tpfoyer.entity.Reservation;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 public interface IReservationService {
 
     public List<Reservation> retrieveAllReservations();
     public Reservation retrieveReservation(String reservationId);
+    public BatchResult<Reservation, String> retrieveReservations(List<String> reservationIds);
+    public BatchResult<Reservation, String> retrieveReservations(List<String> reservationIds, Set<String> fields);
+    public List<Reservation> retrieveAllReservations(Set<String> fields);
+    public Reservation retrieveReservation(String reservationId, Set<String> fields);
     public Reservation addReservation(Reservation r);
     public void removeReservation(String reservationId);
     public Reservation modifyReservation(Reservation reservation);
 
     // Here we will add later methods calling keywords and methods calling JPQL
     public List<Reservation> trouverResSelonDateEtStatus(Date d, boolean b);
+    public List<Reservation> trouverResSelonAnneeEtStatus(AnneeAcademique a, boolean b);
+
+    // Archive des années passées (lecture seule)
+    public ReservationArchivee retrieveReservationArchivee(String reservationId);
+    public List<ReservationArchivee> retrieveReservationsArchiveesParCin(long cin);
 }
@@ -1,13 +1,19 @@
 package tn.esprit.tpfoyer.service;
 
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Universite;
 
 import java.util.List;
+import java.util.Set;
 
 public interface IUniversiteService {
 
     public List<Universite> retrieveAllUniversites();
     public Universite retrieveUniversite(Long universiteId);
+    public BatchResult<Universite, Long> retrieveUniversites(List<Long> universiteIds);
+    public BatchResult<Universite, Long> retrieveUniversites(List<Long> universiteIds, Set<String> fields);
+    public List<Universite> retrieveAllUniversites(Set<String> fields);
+    public Universite retrieveUniversite(Long universiteId, Set<String> fields);
     public Universite addUniversite(Universite f);
     public void removeUniversite(Long universiteId);
     public Universite modifyUniversite(Universite universite);
@@ -2,40 +2,111 @@ package tn.esprit.tpfoyer.service;
 
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.tpfoyer.archive.ReservationArchive;
+import tn.esprit.tpfoyer.dto.BatchResult;
+import tn.esprit.tpfoyer.dto.ReservationArchivee;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
 import tn.esprit.tpfoyer.entity.Reservation;
+import tn.esprit.tpfoyer.entity.ReservationIdAlias;
+import tn.esprit.tpfoyer.entity.Ulid;
+import tn.esprit.tpfoyer.repository.ReservationIdAliasRepository;
 import tn.esprit.tpfoyer.repository.ReservationRepository;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class ReservationServiceImpl implements IReservationService {
 
     ReservationRepository reservationRepository;
+    ReservationIdAliasRepository reservationIdAliasRepository;
+    ReservationArchive reservationArchive;
 
     public List<Reservation> retrieveAllReservations() {
         return reservationRepository.findAll();
     }
 
     public Reservation retrieveReservation(String reservationId) {
-        return reservationRepository.findById(reservationId).get();
+        return reservationRepository.findById(resolve(reservationId)).get();
     }
 
+    public BatchResult<Reservation, String> retrieveReservations(List<String> reservationIds) {
+        List<String> ids = reservationIds.stream().map(this::resolve).toList();
+        return BatchResult.of(ids, reservationRepository.findAllById(ids), Reservation::getIdReservation);
+    }
+    public BatchResult<Reservation, String> retrieveReservations(List<String> reservationIds, Set<String> fields) {
+        List<String> ids = reservationIds.stream().map(this::resolve).toList();
+        return BatchResult.of(ids, reservationRepository.findAllByIdProjected(ids, fields), Reservation::getIdReservation);
+    }
+    // Seules les colonnes demandées sont lues (entités détachées, partielles)
+    public List<Reservation> retrieveAllReservations(Set<String> fields) {
+        return reservationRepository.findAllProjected(fields);
+    }
+    public Reservation retrieveReservation(String reservationId, Set<String> fields) {
+        return reservationRepository.findByIdProjected(resolve(reservationId), fields).get();
+    }
+    // L'identifiant est toujours un ULID généré à l'insertion : un identifiant du client fausserait
+    // l'ordre (horodatage arbitraire) ou ferait de save() une fusion écrasant une réservation existante
     public Reservation addReservation(Reservation r) {
+        if (r.getIdReservation() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "L'identifiant de réservation est attribué par le serveur : " + r.getIdReservation());
+        }
         return reservationRepository.save(r);
     }
 
+    // save() insérerait une réservation inconnue : seule une réservation existante est modifiée
     public Reservation modifyReservation(Reservation reservation) {
+        String id = resolve(reservation.getIdReservation());
+        if (id == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Identifiant de réservation manquant");
+        }
+        if (!reservationRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Réservation introuvable : " + id);
+        }
+        reservation.setIdReservation(id);
         return reservationRepository.save(reservation);
     }
 
     public List<Reservation> trouverResSelonDateEtStatus(Date d, boolean b) {
-        return reservationRepository.findAllByAnneeUniversitaireBeforeAndEstValide(d, b);
+        return reservationRepository.findAllByAnneeAcademiqueLessThanEqualAndAnneeUniversitaireBeforeAndEstValide(
+                AnneeAcademique.de(d), d, b);
+    }
+
+    public List<Reservation> trouverResSelonAnneeEtStatus(AnneeAcademique a, boolean b) {
+        return reservationRepository.findAllByAnneeAcademiqueAndEstValide(a, b);
+    }
+
+    public ReservationArchivee retrieveReservationArchivee(String reservationId) {
+        return reservationArchive.find(resolve(reservationId))
+                .orElseThrow(() -> new NoSuchElementException("Archived reservation not found with id: " + reservationId));
+    }
+
+    public List<ReservationArchivee> retrieveReservationsArchiveesParCin(long cin) {
+        return reservationArchive.findByCin(cin);
     }
 
     public void removeReservation(String reservationId) {
-        reservationRepository.deleteById(reservationId);
+        reservationRepository.deleteById(resolve(reservationId));
+    }
+
+    // Ancien identifiant libre déjà migré : remplacé par son ULID (lecture, modification, suppression)
+    private String resolve(String reservationId) {
+        if (reservationId == null) {
+            return null;
+        }
+        if (Ulid.isValid(reservationId)) {
+            return reservationId.toUpperCase(Locale.ROOT);
+        }
+        return reservationIdAliasRepository.findById(reservationId)
+                .map(ReservationIdAlias::getIdReservation)
+                .orElse(reservationId);
     }
 }
@@ -0,0 +1,72 @@
+package tn.esprit.tpfoyer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescence des chargements concurrents : tant qu'un chargement est en cours pour une clé,
+ * les autres appelants de la même clé attendent et partagent son résultat (ou son exception)
+ * au lieu de relancer la même requête. Rien n'est mis en cache une fois le chargement terminé.
+ * <p>
+ * Le résultat étant partagé entre threads, il doit être traité en lecture seule.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.leaders = Counter.builder("tpfoyer.singleflight.calls")
+                .description("Chargements coalescés par clé")
+                .tag("name", name)
+                .tag("result", "loaded")
+                .register(registry);
+        this.coalesced = Counter.builder("tpfoyer.singleflight.calls")
+                .description("Chargements coalescés par clé")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(registry);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -3,11 +3,13 @@ package tn.esprit.tpfoyer.service;
 
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Universite;
 import tn.esprit.tpfoyer.repository.UniversiteRepository;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
@@ -24,6 +26,20 @@ public class UniversiteServiceImpl implements IUniversiteService {
                 .orElseThrow(() -> new NoSuchElementException("Universite not found with id: " + universiteId));
     }
 
+    public BatchResult<Universite, Long> retrieveUniversites(List<Long> universiteIds) {
+        return BatchResult.of(universiteIds, universiteRepository.findAllById(universiteIds), Universite::getIdUniversite);
+    }
+    public BatchResult<Universite, Long> retrieveUniversites(List<Long> universiteIds, Set<String> fields) {
+        return BatchResult.of(universiteIds, universiteRepository.findAllByIdProjected(universiteIds, fields), Universite::getIdUniversite);
+    }
+    // Seules les colonnes demandées sont lues (entités détachées, partielles)
+    public List<Universite> retrieveAllUniversites(Set<String> fields) {
+        return universiteRepository.findAllProjected(fields);
+    }
+    public Universite retrieveUniversite(Long universiteId, Set<String> fields) {
+        return universiteRepository.findByIdProjected(universiteId, fields)
+                .orElseThrow(() -> new NoSuchElementException("Universite not found with id: " + universiteId));
+    }
     public Universite addUniversite(Universite u) {
         return universiteRepository.save(u);
     }
@@ -0,0 +1,62 @@
+package tn.esprit.tpfoyer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Tests d'Intégration pour les métriques Actuator / Prometheus")
+class ActuatorMetricsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Le scrape Prometheus expose HikariCP, Hibernate, Tomcat et les latences HTTP")
+    void testPrometheusScrape() {
+        assertNotEquals(port, managementPort);
+
+        ResponseEntity<String> api = restTemplate.getForEntity(
+                "http://localhost:" + port + "/tpfoyer/foyer/retrieve-all-foyers", String.class);
+        assertEquals(HttpStatus.OK, api.getStatusCode());
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        String body = scrape.getBody();
+        assertNotNull(body);
+        assertTrue(body.contains("hikaricp_connections_active"));
+        assertTrue(body.contains("hibernate_statements_total"));
+        assertTrue(body.contains("tomcat_threads_busy_threads"));
+        assertTrue(body.contains("http_server_requests_seconds_bucket"));
+        assertTrue(body.contains("jvm_gc_"));
+        assertTrue(body.contains("tpfoyer_service_calls_seconds_bucket"));
+    }
+
+    @Test
+    @DisplayName("Les endpoints actuator ne sont pas servis sur le port applicatif")
+    void testActuatorNotOnApplicationPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/tpfoyer/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
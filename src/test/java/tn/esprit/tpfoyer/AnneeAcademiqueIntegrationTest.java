@@ -0,0 +1,154 @@
+package tn.esprit.tpfoyer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.Reservation;
+import tn.esprit.tpfoyer.migration.AnneeAcademiqueBackfill;
+import tn.esprit.tpfoyer.repository.ReservationRepository;
+import tn.esprit.tpfoyer.service.IReservationService;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Tests d'Intégration pour l'année universitaire des réservations")
+class AnneeAcademiqueIntegrationTest {
+
+    // Enfants avant parents
+    private static final List<String> TABLES = List.of("chambre_reservations", "reservation_etudiants",
+            "reservation_id_alias", "reservation");
+
+    @Autowired
+    private IReservationService reservationService;
+
+    // Identifiants lisibles : insertion directe, le service n'accepte que des ULID
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private AnneeAcademiqueBackfill backfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+    }
+
+    @Test
+    @DisplayName("L'année est dérivée de la date à l'insertion et à la modification, 0 sans date")
+    void testSynchronisation() {
+        Reservation reservation = reservationRepository.save(reservation("R-1", LocalDate.of(2025, 3, 1), true));
+        assertEquals(AnneeAcademique.of(2024), reservation.getAnneeAcademique());
+        assertEquals(2024, colonne("R-1"));
+
+        reservation.setAnneeUniversitaire(date(LocalDate.of(2025, 9, 20)));
+        reservationService.modifyReservation(reservation);
+        assertEquals(2025, colonne("R-1"));
+        assertEquals(AnneeAcademique.of(2025), reservationService.retrieveReservation("R-1").getAnneeAcademique());
+
+        reservationRepository.save(reservation("R-2", null, true));
+        assertEquals(0, colonne("R-2"));
+        assertNull(reservationService.retrieveReservation("R-2").getAnneeAcademique());
+    }
+
+    @Test
+    @DisplayName("Les recherches par date et par année se limitent aux années concernées")
+    void testRecherches() {
+        reservationRepository.save(reservation("2023-V", LocalDate.of(2023, 9, 15), true));
+        reservationRepository.save(reservation("2024-V", LocalDate.of(2024, 9, 15), true));
+        reservationRepository.save(reservation("2024-NV", LocalDate.of(2024, 10, 1), false));
+        reservationRepository.save(reservation("2025-V", LocalDate.of(2025, 9, 15), true));
+
+        assertEquals(List.of("2024-V"), ids(reservationService.trouverResSelonAnneeEtStatus(AnneeAcademique.of(2024), true)));
+        assertEquals(List.of("2024-NV"), ids(reservationService.trouverResSelonAnneeEtStatus(AnneeAcademique.of(2024), false)));
+        // Avant le 1er octobre 2024 : l'année 2024-2025 est lue, la date reste le critère
+        assertEquals(List.of("2023-V", "2024-V"), ids(reservationService.trouverResSelonDateEtStatus(
+                date(LocalDate.of(2024, 10, 1)), true)));
+    }
+
+    @Test
+    @DisplayName("Une année mal formée dans l'URL est une erreur du client (400)")
+    void testAnneeInvalide() throws Exception {
+        reservationRepository.save(reservation("2024-V", LocalDate.of(2024, 9, 15), true));
+
+        mockMvc.perform(get("/reservation/retrieve-reservations-annee/2024-2025/true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].idReservation").value("2024-V"));
+        mockMvc.perform(get("/reservation/retrieve-reservations-annee/2024-2026/true"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reservation/retrieve-reservations-annee/abc/true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Le backfill renseigne les lignes écrites avant la colonne, sans toucher aux autres")
+    void testBackfill() {
+        reservationRepository.save(reservation("A", LocalDate.of(2022, 11, 2), true));
+        reservationRepository.save(reservation("B", LocalDate.of(2023, 2, 1), false));
+        reservationRepository.save(reservation("C", LocalDate.of(2024, 9, 3), true));
+        reservationRepository.save(reservation("SANS-DATE", null, true));
+        jdbcTemplate.update("UPDATE reservation SET annee_academique = 0");
+
+        AnneeAcademiqueBackfill.BackfillReport report = backfill.backfill(2);
+
+        assertEquals(3, report.updated());
+        assertEquals(2022, colonne("A"));
+        assertEquals(2022, colonne("B"));
+        assertEquals(2024, colonne("C"));
+        assertEquals(0, colonne("SANS-DATE"));
+        assertEquals(0, backfill.backfill(2).updated());
+    }
+
+    private int colonne(String id) {
+        return jdbcTemplate.queryForObject("SELECT annee_academique FROM reservation WHERE id_reservation = ?",
+                Integer.class, id);
+    }
+
+    private static List<String> ids(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getIdReservation).sorted().toList();
+    }
+
+    private static Reservation reservation(String id, LocalDate date, boolean valide) {
+        Reservation reservation = new Reservation();
+        reservation.setIdReservation(id);
+        reservation.setAnneeUniversitaire(date == null ? null : date(date));
+        reservation.setEstValide(valide);
+        return reservation;
+    }
+
+    private static Date date(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private void clear() {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+    }
+}
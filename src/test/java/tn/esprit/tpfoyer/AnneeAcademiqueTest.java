@@ -0,0 +1,49 @@
+package tn.esprit.tpfoyer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.AnneeAcademiqueConverter;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnneeAcademiqueTest {
+
+    @Test
+    void testRentreeEnSeptembre() {
+        assertEquals(AnneeAcademique.of(2023), AnneeAcademique.de(LocalDate.of(2024, 8, 31)));
+        assertEquals(AnneeAcademique.of(2024), AnneeAcademique.de(LocalDate.of(2024, 9, 1)));
+        assertEquals(AnneeAcademique.of(2024), AnneeAcademique.de(java.sql.Date.valueOf("2025-01-15")));
+        assertEquals(LocalDate.of(2024, 9, 1), AnneeAcademique.of(2024).premierJour());
+        assertEquals(AnneeAcademique.of(2025), AnneeAcademique.of(2024).suivante());
+    }
+
+    @Test
+    void testTexte() {
+        assertEquals("2024-2025", AnneeAcademique.of(2024).toString());
+        assertEquals(AnneeAcademique.of(2024), AnneeAcademique.parse("2024-2025"));
+        assertEquals(AnneeAcademique.of(2024), AnneeAcademique.parse("2024"));
+        assertThrows(IllegalArgumentException.class, () -> AnneeAcademique.parse("2024-2026"));
+        assertThrows(IllegalArgumentException.class, () -> AnneeAcademique.parse("deux mille"));
+        assertThrows(IllegalArgumentException.class, () -> AnneeAcademique.of(0));
+    }
+
+    @Test
+    void testJson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals("\"2024-2025\"", mapper.writeValueAsString(AnneeAcademique.of(2024)));
+        assertEquals(AnneeAcademique.of(2024), mapper.readValue("\"2024-2025\"", AnneeAcademique.class));
+    }
+
+    @Test
+    void testConverter() {
+        AnneeAcademiqueConverter converter = new AnneeAcademiqueConverter();
+        assertEquals((short) 2024, converter.convertToDatabaseColumn(AnneeAcademique.of(2024)));
+        assertEquals(AnneeAcademique.of(2024), converter.convertToEntityAttribute((short) 2024));
+        // Sans date : 0 en base, null dans l'entité
+        assertEquals(AnneeAcademiqueConverter.SANS_ANNEE, converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(AnneeAcademiqueConverter.SANS_ANNEE));
+    }
+}
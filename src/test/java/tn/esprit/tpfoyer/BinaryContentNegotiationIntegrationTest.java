@@ -0,0 +1,109 @@
+package tn.esprit.tpfoyer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tn.esprit.tpfoyer.entity.Etudiant;
+import tn.esprit.tpfoyer.entity.Reservation;
+import tn.esprit.tpfoyer.entity.Ulid;
+import tn.esprit.tpfoyer.repository.EtudiantRepository;
+import tn.esprit.tpfoyer.repository.ReservationRepository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Négociation de contenu CBOR / Smile")
+class BinaryContentNegotiationIntegrationTest {
+
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    private MockMvc mockMvc;
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectMapper smileMapper = new SmileMapper();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        etudiantRepository.deleteAll();
+    }
+
+    @Test
+    void testPostAndGetReservationsInCborAndSmile() throws Exception {
+        Reservation reservation = new Reservation();
+        reservation.setAnneeUniversitaire(new Date());
+        reservation.setEstValide(true);
+
+        byte[] created = mockMvc.perform(post("/reservation/add-reservation")
+                        .contentType(CBOR).accept(CBOR)
+                        .content(cborMapper.writeValueAsBytes(reservation)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertTrue(Ulid.isValid(cborMapper.readValue(created, Reservation.class).getIdReservation()));
+
+        byte[] all = mockMvc.perform(get("/reservation/retrieve-all-reservations").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<Reservation> reservations = smileMapper.readValue(all, new TypeReference<>() { });
+        assertEquals(1, reservations.size());
+        assertTrue(reservations.get(0).isEstValide());
+    }
+
+    @Test
+    void testBatchEndpointInCborIsSmallerThanJson() throws Exception {
+        Etudiant etudiant = new Etudiant();
+        etudiant.setNomEtudiant("Binaire");
+        etudiant.setPrenomEtudiant("Client");
+        etudiant.setCinEtudiant(77777777L);
+        etudiant.setDateNaissance(new Date());
+        etudiantRepository.save(etudiant);
+
+        byte[] cbor = mockMvc.perform(get("/etudiant/retrieve-etudiants-cin").param("cins", "77777777", "1").accept(CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/etudiant/retrieve-etudiants-cin").param("cins", "77777777", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<String, List<Object>> batch = cborMapper.readValue(cbor, new TypeReference<>() { });
+        assertEquals(1, batch.get("found").size());
+        assertEquals(List.of(1), batch.get("missing"));
+        assertTrue(cbor.length < json.length);
+    }
+}
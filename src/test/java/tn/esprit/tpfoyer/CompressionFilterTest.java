@@ -0,0 +1,165 @@
+package tn.esprit.tpfoyer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tn.esprit.tpfoyer.config.CompressionFilter;
+import tn.esprit.tpfoyer.config.CompressionProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new CompressionFilter(new CompressionProperties(), meterRegistry);
+    }
+
+    @Test
+    void testLargeJson_IsGzippedAndMeasured() throws Exception {
+        String body = json(500);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("gzip, deflate, br"), response, writing(MediaType.APPLICATION_JSON_VALUE, body));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(body, gunzip(response.getContentAsByteArray()));
+        assertEquals(1, meterRegistry.get("tpfoyer.compression.ratio").summary().count());
+        assertTrue(meterRegistry.get("tpfoyer.compression.ratio").summary().max() < 0.5);
+        assertEquals(1, meterRegistry.get("tpfoyer.compression.cpu").timer().count());
+        assertEquals(body.length(), meterRegistry.get("tpfoyer.compression.bytes").tag("stage", "in").counter().count());
+        assertEquals(response.getContentAsByteArray().length,
+                meterRegistry.get("tpfoyer.compression.bytes").tag("stage", "out").counter().count());
+    }
+
+    @Test
+    void testSmallBody_IsSentAsIsWithContentLength() throws Exception {
+        String body = json(2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("gzip"), response, writing(MediaType.APPLICATION_JSON_VALUE, body));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body, response.getContentAsString());
+        assertEquals(body.length(), response.getContentLength());
+        assertEquals(1, meterRegistry.get("tpfoyer.compression.skipped").tag("reason", "size").counter().count());
+    }
+
+    @Test
+    void testTypeOutsideAllowlist_IsNotCompressed() throws Exception {
+        String body = json(500);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("gzip"), response, writing(MediaType.IMAGE_PNG_VALUE, body));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body, response.getContentAsString());
+        assertEquals(1, meterRegistry.get("tpfoyer.compression.skipped").tag("reason", "content-type").counter().count());
+    }
+
+    @Test
+    void testGzipNotAccepted_IsNotCompressed() throws Exception {
+        String body = json(500);
+        for (String acceptEncoding : new String[] {null, "identity", "gzip;q=0", "br"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request(acceptEncoding), response, writing(MediaType.APPLICATION_JSON_VALUE, body));
+
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertEquals(body, response.getContentAsString());
+        }
+    }
+
+    @Test
+    void testStreamedBody_FlushesCompressedChunks() throws Exception {
+        String first = json(100);
+        String second = json(50);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> sentAtFlush = new AtomicReference<>();
+
+        FilterChain streaming = (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(first.getBytes(StandardCharsets.UTF_8));
+            res.getOutputStream().flush();
+            // Après le flush, le premier morceau doit déjà être décompressable côté client
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+                sentAtFlush.set(new String(in.readNBytes(first.length()), StandardCharsets.UTF_8));
+            }
+            res.getOutputStream().write(second.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request("gzip"), response, streaming);
+
+        assertEquals(first, sentAtFlush.get());
+        assertEquals(first + second, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void testFailedRequest_ReleasesDeflater() {
+        String body = json(500);
+        AtomicReference<ServletResponse> wrapped = new AtomicReference<>();
+
+        FilterChain failing = (req, res) -> {
+            wrapped.set(res);
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            throw new IllegalStateException("échec du contrôleur");
+        };
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("gzip"), new MockHttpServletResponse(), failing));
+
+        // Deflater.end() appelé : le flux gzip n'est plus utilisable (NPE ou ISE selon le JDK)
+        RuntimeException closed = assertThrows(RuntimeException.class,
+                () -> wrapped.get().getOutputStream().write(body.getBytes(StandardCharsets.UTF_8)));
+        assertTrue(closed instanceof NullPointerException || closed instanceof IllegalStateException,
+                closed::toString);
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/chambre/retrieve-all-chambres");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    private static FilterChain writing(String contentType, String body) {
+        return (req, res) -> {
+            res.setContentType(contentType);
+            res.getWriter().write(body);
+        };
+    }
+
+    private static String json(int chambres) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < chambres; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"idChambre\":").append(i)
+                    .append(",\"numeroChambre\":").append(100 + i)
+                    .append(",\"typeC\":\"SIMPLE\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
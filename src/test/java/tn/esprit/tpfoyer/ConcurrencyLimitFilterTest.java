@@ -0,0 +1,107 @@
+package tn.esprit.tpfoyer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tn.esprit.tpfoyer.config.AdaptiveConcurrencyLimit;
+import tn.esprit.tpfoyer.config.ConcurrencyLimitFilter;
+import tn.esprit.tpfoyer.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+    private CountDownLatch release;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        // Limite fixe de 4 : 2 lectures, 3 écritures, 4 réservations simultanées
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(4);
+        properties.setReadShare(0.5);
+        properties.setWriteShare(0.75);
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        release = new CountDownLatch(1);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testReadsAreShedBeforeReservationWrites() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        FilterChain blocking = (req, res) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.submit(() -> call("GET", "/foyer/retrieve-all-foyers", blocking));
+        executor.submit(() -> call("GET", "/foyer/retrieve-all-foyers", blocking));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2.0, meterRegistry.get("tpfoyer.concurrency.inflight").gauge().value());
+        MockHttpServletResponse rejected = call("GET", "/bloc/retrieve-all-blocs", (req, res) -> { });
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        assertEquals(200, call("POST", "/foyer/add-foyer", (req, res) -> { }).getStatus());
+        assertEquals(200, call("POST", "/reservation/add-reservation", (req, res) -> { }).getStatus());
+        assertEquals(1.0, meterRegistry.get("tpfoyer.concurrency.rejected").tag("priority", "read").counter().count());
+    }
+
+    @Test
+    void testLimitDecreasesWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 4, 200, 1.5, 0.2);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 100);
+        }
+        int beforeOverload = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(200), 100);
+        }
+
+        assertTrue(beforeOverload > 100);
+        assertTrue(limit.getLimit() < beforeOverload / 2);
+    }
+
+    @Test
+    void testLimitDoesNotGrowWhenUnderused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 0.2);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    private MockHttpServletResponse call(String method, String uri, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            fail(e);
+        }
+        return response;
+    }
+}
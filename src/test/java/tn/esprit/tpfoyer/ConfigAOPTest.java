@@ -0,0 +1,73 @@
+package tn.esprit.tpfoyer;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import tn.esprit.tpfoyer.config.ConfigAOP;
+import tn.esprit.tpfoyer.entity.Foyer;
+import tn.esprit.tpfoyer.repository.FoyerRepository;
+import tn.esprit.tpfoyer.service.FoyerServiceImpl;
+import tn.esprit.tpfoyer.service.IFoyerService;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigAOPTest {
+
+    @Mock
+    private FoyerRepository foyerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IFoyerService foyerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new FoyerServiceImpl(foyerRepository, meterRegistry));
+        factory.addAspect(new ConfigAOP(meterRegistry, 1.0));
+        foyerService = factory.getProxy();
+    }
+
+    @Test
+    void testSuccessfulCallIsTimed() {
+        when(foyerRepository.findAll()).thenReturn(List.of(new Foyer()));
+
+        foyerService.retrieveAllFoyers();
+        foyerService.retrieveAllFoyers();
+
+        Timer timer = meterRegistry.get("tpfoyer.service.calls")
+                .tag("service", "FoyerServiceImpl")
+                .tag("method", "retrieveAllFoyers")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(2, timer.count());
+        assertTrue(timer.totalTime(java.util.concurrent.TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testFailedCallIsTimedAsError() {
+        when(foyerRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> foyerService.retrieveFoyer(99L));
+
+        Timer timer = meterRegistry.get("tpfoyer.service.calls")
+                .tag("method", "retrieveFoyer")
+                .tag("outcome", "error")
+                .timer();
+        assertEquals(1, timer.count());
+        assertNull(meterRegistry.find("tpfoyer.service.calls")
+                .tag("method", "retrieveFoyer")
+                .tag("outcome", "success")
+                .timer());
+    }
+}
@@ -0,0 +1,91 @@
+package tn.esprit.tpfoyer;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tn.esprit.tpfoyer.config.FlightRecorderEndpoint;
+import tn.esprit.tpfoyer.config.RepositoryQueryEvent;
+import tn.esprit.tpfoyer.config.ServiceCallEvent;
+import tn.esprit.tpfoyer.entity.Foyer;
+import tn.esprit.tpfoyer.repository.FoyerRepository;
+import tn.esprit.tpfoyer.service.IFoyerService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "tpfoyer.jfr.dump-dir=${java.io.tmpdir}/tp-foyer-jfr-test")
+@ActiveProfiles({"test", "jfr"})
+class FlightRecorderEventsTest {
+
+    @Autowired
+    private IFoyerService foyerService;
+
+    @Autowired
+    private FoyerRepository foyerRepository;
+
+    @Autowired
+    private FlightRecorderEndpoint flightRecorderEndpoint;
+
+    @Test
+    void testServiceAndRepositoryEventsAreRecorded(@TempDir Path tempDir) throws Exception {
+        foyerRepository.deleteAll();
+        Foyer foyer = new Foyer();
+        foyer.setNomFoyer("Foyer JFR");
+        foyer.setCapaciteFoyer(100);
+        foyerRepository.save(foyer);
+
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ServiceCallEvent.NAME);
+            recording.enable(RepositoryQueryEvent.NAME);
+            recording.start();
+
+            foyerService.retrieveAllFoyers();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Recording de toute la JVM : seuls les évènements du thread du test (pas des tâches @Scheduled)
+        long testThread = Thread.currentThread().getId();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == testThread)
+                .toList();
+
+        RecordedEvent serviceCall = events.stream()
+                .filter(e -> e.getEventType().getName().equals(ServiceCallEvent.NAME))
+                .filter(e -> "retrieveAllFoyers".equals(e.getString("method")))
+                .filter(e -> "FoyerServiceImpl".equals(e.getString("service")))
+                .findFirst().orElseThrow();
+        assertTrue(serviceCall.getBoolean("success"));
+
+        RecordedEvent query = events.stream()
+                .filter(e -> e.getEventType().getName().equals(RepositoryQueryEvent.NAME))
+                .filter(e -> "findAll".equals(e.getString("method")))
+                .filter(e -> "FoyerRepository".equals(e.getString("repository")))
+                .findFirst().orElseThrow();
+        assertEquals("Foyer", query.getString("entity"));
+        assertEquals(1, query.getLong("rowCount"));
+    }
+
+    @Test
+    void testEndpointDumpsContinuousRecording() throws Exception {
+        foyerService.retrieveAllFoyers();
+
+        Map<String, Object> result = flightRecorderEndpoint.dump(1);
+
+        assertEquals(true, result.get("dumped"));
+        Path file = Path.of((String) result.get("file"));
+        assertTrue(Files.size(file) > 0);
+        Files.delete(file);
+    }
+}
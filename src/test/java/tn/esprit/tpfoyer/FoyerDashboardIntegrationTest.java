@@ -0,0 +1,186 @@
+package tn.esprit.tpfoyer;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.tpfoyer.config.SqlBudgetFilter;
+import tn.esprit.tpfoyer.config.SqlStatementStats;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.tpfoyer.entity.*;
+import tn.esprit.tpfoyer.repository.*;
+import tn.esprit.tpfoyer.service.FoyerDashboardServiceImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests d'Intégration pour le tableau de bord d'un foyer")
+class FoyerDashboardIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private FoyerRepository foyerRepository;
+
+    @Autowired
+    private UniversiteRepository universiteRepository;
+
+    @Autowired
+    private BlocRepository blocRepository;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlBudgetFilter sqlBudgetFilter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).addFilters(sqlBudgetFilter).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // La base H2 est partagée avec les autres tests d'intégration
+        chambreRepository.deleteAll();
+        reservationRepository.deleteAll();
+        universiteRepository.deleteAll();
+        blocRepository.deleteAll();
+        foyerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Le tableau de bord agrège foyer, université, chambres par type et réservations")
+    void testRetrieveFoyerDashboard() throws Exception {
+        // Données créées dans une seule transaction (cascades ALL sur Universite.foyer et Bloc.foyer)
+        Long foyerId = transactionTemplate.execute(status -> {
+            Foyer foyer = new Foyer();
+            foyer.setNomFoyer("Foyer Dashboard");
+            foyer.setCapaciteFoyer(120);
+            foyer = foyerRepository.save(foyer);
+
+            Universite universite = new Universite();
+            universite.setNomUniversite("Université Dashboard");
+            universite.setAdresse("Tunis");
+            universite.setFoyer(foyer);
+            universiteRepository.save(universite);
+
+            Bloc bloc = new Bloc();
+            bloc.setNomBloc("Bloc A");
+            bloc.setCapaciteBloc(40);
+            bloc.setFoyer(foyer);
+            bloc = blocRepository.save(bloc);
+
+            Reservation valide = reservationRepository.save(new Reservation("DASH-1", new Date(), true, null, null));
+            Reservation enAttente = reservationRepository.save(new Reservation("DASH-2", new Date(), false, null, null));
+
+            chambreRepository.save(new Chambre(0, 101, TypeChambre.SIMPLE, Set.of(valide), bloc));
+            chambreRepository.save(new Chambre(0, 102, TypeChambre.SIMPLE, Set.of(enAttente), bloc));
+            chambreRepository.save(new Chambre(0, 103, TypeChambre.DOUBLE, null, bloc));
+            return foyer.getIdFoyer();
+        });
+
+        mockMvc.perform(get("/foyer/retrieve-foyer-dashboard/{foyer-id}", foyerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nomFoyer").value("Foyer Dashboard"))
+                .andExpect(jsonPath("$.universite.nomUniversite").value("Université Dashboard"))
+                .andExpect(jsonPath("$.blocs.length()").value(1))
+                .andExpect(jsonPath("$.blocs[0].nomBloc").value("Bloc A"))
+                .andExpect(jsonPath("$.blocs[0].chambresParType.SIMPLE").value(2))
+                .andExpect(jsonPath("$.blocs[0].chambresParType.DOUBLE").value(1))
+                .andExpect(jsonPath("$.reservations.total").value(2))
+                .andExpect(jsonPath("$.reservations.valides").value(1))
+                // Les 5 requêtes exécutées par le pool du tableau de bord comptent pour la requête HTTP
+                .andExpect(result -> assertTrue(Integer.parseInt(
+                        result.getResponse().getHeader(SqlStatementStats.HEADER_STATEMENTS)) >= 5));
+    }
+
+    @Test
+    @DisplayName("Les chargements paresseux de la sérialisation comptent dans le budget SQL")
+    void testSqlStatsIncludeSerialization() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int numero = 1; numero <= 3; numero++) {
+                Reservation reservation = reservationRepository.save(
+                        new Reservation("SER-" + numero, new Date(), true, null, null));
+                chambreRepository.save(new Chambre(0, numero, TypeChambre.SIMPLE, Set.of(reservation), null));
+            }
+        });
+
+        mockMvc.perform(get("/chambre/retrieve-all-chambres"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                // En-tête posé avant la sérialisation : la requête de la liste seule
+                .andExpect(header().string(SqlStatementStats.HEADER_STATEMENTS, "1"))
+                // Chambre.reservations puis Reservation.etudiants chargés (par lots) pendant l'écriture du JSON
+                .andExpect(result -> assertEquals(1 + 2, SqlBudgetMatchers.statements(result)));
+    }
+
+    @Test
+    @DisplayName("Foyer inexistant : l'exception du service est propagée")
+    void testRetrieveFoyerDashboard_NotFound() {
+        ServletException exception = assertThrows(ServletException.class, () ->
+                mockMvc.perform(get("/foyer/retrieve-foyer-dashboard/{foyer-id}", 987654L)));
+        assertInstanceOf(NoSuchElementException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Délai dépassé : 503 et requête restante interrompue")
+    void testRetrieveFoyerDashboard_Timeout() throws Exception {
+        CountDownLatch interrompue = new CountDownLatch(1);
+        FoyerRepository lent = mock(FoyerRepository.class);
+        when(lent.findById(1L)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrompue.countDown();
+            }
+            return Optional.empty();
+        });
+        FoyerDashboardServiceImpl service = new FoyerDashboardServiceImpl(lent, mock(UniversiteRepository.class),
+                mock(BlocRepository.class), mock(ChambreRepository.class), 8, 100, Duration.ofMillis(100),
+                new MockEnvironment());
+        try {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> service.retrieveFoyerDashboard(1L));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+            assertTrue(interrompue.await(5, TimeUnit.SECONDS), "requête du foyer non annulée");
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package tn.esprit.tpfoyer;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.tpfoyer.dto.BatchResult;
 import tn.esprit.tpfoyer.entity.Foyer;
 import tn.esprit.tpfoyer.repository.FoyerRepository;
 import tn.esprit.tpfoyer.service.FoyerServiceImpl;
@@ -23,7 +24,6 @@ class FoyerServiceTest {
     @Mock
     private FoyerRepository foyerRepository;
 
-    @InjectMocks
     private FoyerServiceImpl foyerService;
 
     private Foyer foyer1;
@@ -31,6 +31,8 @@ class FoyerServiceTest {
 
     @BeforeEach
     void setUp() {
+        foyerService = new FoyerServiceImpl(foyerRepository, new SimpleMeterRegistry());
+
         // Initialisation des données de test
         foyer1 = new Foyer();
         foyer1.setIdFoyer(1L);
@@ -89,6 +91,21 @@ class FoyerServiceTest {
         verify(foyerRepository, times(1)).findById(foyerId);
     }
 
+    @Test
+    void testRetrieveFoyers_PreservesOrderAndReportsMissing() {
+        // Arrange
+        List<Long> ids = Arrays.asList(2L, 999L, 1L, 2L);
+        when(foyerRepository.findAllById(ids)).thenReturn(Arrays.asList(foyer1, foyer2));
+
+        // Act
+        BatchResult<Foyer, Long> result = foyerService.retrieveFoyers(ids);
+
+        // Assert
+        assertEquals(Arrays.asList(foyer2, foyer1), result.found());
+        assertEquals(List.of(999L), result.missing());
+        verify(foyerRepository, times(1)).findAllById(ids);
+    }
+
     @Test
     void testAddFoyer() {
         // Arrange
@@ -11,12 +11,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import tn.esprit.tpfoyer.config.SqlBudgetFilter;
 import tn.esprit.tpfoyer.entity.Foyer;
 import tn.esprit.tpfoyer.entity.Universite;
 import tn.esprit.tpfoyer.repository.FoyerRepository;
 import tn.esprit.tpfoyer.repository.UniversiteRepository;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static tn.esprit.tpfoyer.SqlBudgetMatchers.maxStatements;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,12 +36,15 @@ class FoyerUniversiteIntegrationTest {
     @Autowired
     private UniversiteRepository universiteRepository;
 
+    @Autowired
+    private SqlBudgetFilter sqlBudgetFilter;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).addFilters(sqlBudgetFilter).build();
         objectMapper = new ObjectMapper();
         
         // Nettoyer la base de données avant chaque test
@@ -75,6 +80,7 @@ class FoyerUniversiteIntegrationTest {
         // Test 2: Récupérer le foyer créé
         mockMvc.perform(get("/foyer/retrieve-foyer/{foyer-id}", foyerId))
                 .andExpect(status().isOk())
+                .andExpect(maxStatements(1))
                 .andExpect(jsonPath("$.idFoyer").value(foyerId))
                 .andExpect(jsonPath("$.nomFoyer").value("Foyer Test Integration"));
 
@@ -248,8 +254,10 @@ class FoyerUniversiteIntegrationTest {
         universiteRepository.save(universite2);
 
         // Tester la récupération de tous les foyers
+        // 1 requête + 1 par foyer (OneToOne inverse Foyer.universite chargé en EAGER)
         mockMvc.perform(get("/foyer/retrieve-all-foyers"))
                 .andExpect(status().isOk())
+                .andExpect(maxStatements(3))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2));
@@ -0,0 +1,43 @@
+package tn.esprit.tpfoyer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tn.esprit.tpfoyer.entity.Bloc;
+import tn.esprit.tpfoyer.entity.Chambre;
+import tn.esprit.tpfoyer.entity.TypeChambre;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ObjectMapper de l'application : Blackbird et sérialiseurs préchargés")
+class JacksonConfigIntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testBlackbirdRegisteredAndSerializersPrewarmed() throws Exception {
+        assertTrue(objectMapper.getRegisteredModuleIds().contains(new BlackbirdModule().getTypeId()));
+        // Entités et DTO, seuls et en liste
+        assertTrue(((DefaultSerializerProvider) objectMapper.getSerializerProvider()).cachedSerializersCount() >= 14);
+
+        Bloc bloc = new Bloc();
+        bloc.setIdBloc(3);
+        bloc.setNomBloc("Bloc C");
+        Chambre chambre = new Chambre(7, 101, TypeChambre.DOUBLE, Set.of(), bloc);
+
+        String json = objectMapper.writeValueAsString(List.of(chambre));
+        assertTrue(json.contains("\"numeroChambre\":101"));
+        assertTrue(json.contains("\"nomBloc\":\"Bloc C\""));
+    }
+}
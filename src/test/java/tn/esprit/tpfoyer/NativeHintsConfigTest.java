@@ -0,0 +1,50 @@
+package tn.esprit.tpfoyer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import tn.esprit.tpfoyer.config.ConfigAOP;
+import tn.esprit.tpfoyer.config.NativeHintsConfig;
+import tn.esprit.tpfoyer.dto.FoyerDashboard;
+import tn.esprit.tpfoyer.entity.Foyer;
+import tn.esprit.tpfoyer.entity.Reservation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        for (Class<? extends RuntimeHintsRegistrar> registrar
+                : NativeHintsConfig.class.getAnnotation(ImportRuntimeHints.class).value()) {
+            BeanUtils.instantiateClass(registrar).registerHints(hints, getClass().getClassLoader());
+        }
+    }
+
+    @Test
+    void testEntitiesAndDtosAreRegisteredForReflection() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Foyer.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Reservation.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(FoyerDashboard.BlocResume.class).test(hints));
+    }
+
+    @Test
+    void testAspectAdviceIsInvocable() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(ConfigAOP.class.getMethod("profile", org.aspectj.lang.ProceedingJoinPoint.class))
+                .test(hints));
+    }
+
+    @Test
+    void testSwaggerUiResourcesAreIncluded() {
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/resources/webjars/swagger-ui/4.18.2/index.html").test(hints));
+    }
+}
@@ -0,0 +1,66 @@
+package tn.esprit.tpfoyer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Génère le document OpenAPI servi tel quel en production (profil prod) et vérifie qu'il
+ * correspond aux contrôleurs. Après une modification d'API :
+ * {@code mvn test -Dtest=OpenApiSpecTest -Dopenapi.update=true}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Document OpenAPI statique à jour")
+class OpenApiSpecTest {
+
+    static final Path SPEC = Path.of("src/main/resources/static/openapi.json");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Test
+    void testStaticSpecMatchesControllers() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        String generated = mockMvc.perform(get("/v3/api-docs"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Map<String, Object> spec = normalize(generated);
+
+        if (Boolean.getBoolean("openapi.update")) {
+            Files.createDirectories(SPEC.getParent());
+            Files.writeString(SPEC, MAPPER.writeValueAsString(spec) + "\n", StandardCharsets.UTF_8);
+        }
+
+        assertTrue(Files.exists(SPEC), SPEC + " absent : lancer avec -Dopenapi.update=true");
+        assertEquals(MAPPER.writeValueAsString(spec),
+                MAPPER.writeValueAsString(normalize(Files.readString(SPEC, StandardCharsets.UTF_8))),
+                SPEC + " ne correspond plus aux contrôleurs : relancer avec -Dopenapi.update=true");
+    }
+
+    // L'URL du serveur dépend de l'environnement : elle est retirée du document statique
+    private static Map<String, Object> normalize(String json) throws Exception {
+        Map<String, Object> spec = MAPPER.readValue(json, new TypeReference<>() { });
+        spec.remove("servers");
+        return spec;
+    }
+}
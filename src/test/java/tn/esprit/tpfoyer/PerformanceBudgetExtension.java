@@ -0,0 +1,224 @@
+package tn.esprit.tpfoyer;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.*;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Garde-fou de performance par test : nombre de requêtes SQL préparées (statistiques Hibernate,
+ * tests avec contexte Spring uniquement) et octets alloués par le thread du test (ThreadMXBean),
+ * mesurés autour de la méthode de test seule (hors {@code @BeforeEach}).
+ * <p>
+ * Les références sont versionnées dans {@code src/test/resources/perf-baselines/<Classe>.properties}
+ * ({@code <méthode>.sql-statements}, {@code <méthode>.allocated-bytes}). Un test échoue s'il dépasse
+ * sa référence de plus de la marge configurée ; un test sans référence n'est que mesuré.
+ * <p>
+ * Avant la première mesure d'une classe, la classe entière est exécutée une fois sans mesure
+ * (lancement JUnit imbriqué, cycle de vie complet, garde-fou désactivé) : contexte Spring, chemins de
+ * Spring MVC, Hibernate et Jackson et sites lambda du test sont chauds, que la classe ou la méthode soit
+ * lancée seule ({@code -Dtest=Classe#methode}) ou dans la suite. Sans ce tir de chauffe
+ * ({@code tpfoyer.perf.warmup=false}), les allocations mesurées à froid restent vérifiées.
+ * Régénération : {@code mvn test -Dtpfoyer.perf.update=true} ; une référence n'est jamais retirée.
+ * Marges : voir {@code junit-platform.properties}.
+ */
+public class PerformanceBudgetExtension implements BeforeAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback, AfterAllCallback {
+
+    static final String SQL_STATEMENTS = "sql-statements";
+    static final String ALLOCATED_BYTES = "allocated-bytes";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PerformanceBudgetExtension.class);
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Classes déjà chauffées dans cette JVM
+    private static final Set<Class<?>> WARMED_UP = ConcurrentHashMap.newKeySet();
+
+    private record Start(long statements, long allocatedBytes) {
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        Class<?> testClass = context.getRequiredTestClass();
+        if (!enabled(context) || !parameter(context, "tpfoyer.perf.warmup", true) || !WARMED_UP.add(testClass)) {
+            return;
+        }
+        // Résultats ignorés : les échecs éventuels sont rapportés par l'exécution mesurée
+        LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClass(testClass))
+                .configurationParameter("tpfoyer.perf.enabled", "false")
+                .build());
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (!enabled(context)) {
+            return;
+        }
+        Statistics statistics = statistics(context);
+        context.getStore(NAMESPACE).put(Start.class, new Start(
+                statistics == null ? 0 : statistics.getPrepareStatementCount(), allocatedBytes()));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long allocated = allocatedBytes();
+        Start start = context.getStore(NAMESPACE).remove(Start.class, Start.class);
+        if (start == null) {
+            return;
+        }
+        Statistics statistics = statistics(context);
+
+        Map<String, Long> measured = new LinkedHashMap<>();
+        if (statistics != null) {
+            measured.put(SQL_STATEMENTS, statistics.getPrepareStatementCount() - start.statements());
+        }
+        if (allocated >= 0) {
+            measured.put(ALLOCATED_BYTES, allocated - start.allocatedBytes());
+        }
+        String method = context.getRequiredTestMethod().getName();
+        measurements(context).put(method, measured);
+
+        if (update(context)) {
+            return;
+        }
+        Properties baseline = baseline(context, context.getRequiredTestClass());
+        List<String> exceeded = new ArrayList<>();
+        measured.forEach((metric, value) -> {
+            String reference = baseline.getProperty(method + "." + metric);
+            if (reference == null) {
+                return;
+            }
+            long limit = limit(context, metric, Long.parseLong(reference.trim()));
+            if (value > limit) {
+                exceeded.add("%s = %d (référence %s, limite %d)".formatted(metric, value, reference.trim(), limit));
+            }
+        });
+        if (!exceeded.isEmpty()) {
+            fail("Régression de performance de " + method + " : " + String.join(", ", exceeded)
+                    + ". Si elle est voulue, relancer avec -Dtpfoyer.perf.update=true");
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws IOException {
+        if (!enabled(context) || !update(context)) {
+            return;
+        }
+        Map<String, Map<String, Long>> measurements = measurements(context);
+        if (measurements.isEmpty()) {
+            return;
+        }
+        // Les méthodes non exécutées (filtre -Dtest=Classe#methode) et les métriques non mesurées
+        // (allocations sans ThreadMXBean) gardent leur référence
+        Map<String, String> lines = new TreeMap<>();
+        Properties existing = baseline(context, context.getRequiredTestClass());
+        existing.stringPropertyNames().forEach(key -> lines.put(key, existing.getProperty(key).trim()));
+        measurements.forEach((method, values) ->
+                values.forEach((metric, value) -> lines.put(method + "." + metric, String.valueOf(value))));
+
+        StringBuilder content = new StringBuilder("# Références de PerformanceBudgetExtension pour ")
+                .append(context.getRequiredTestClass().getSimpleName())
+                .append(" (régénérer avec -Dtpfoyer.perf.update=true)\n");
+        lines.forEach((key, value) -> content.append(key).append('=').append(value).append('\n'));
+        Path file = baselineFile(context, context.getRequiredTestClass());
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    // Statistiques Hibernate du contexte Spring du test, sans en démarrer un pour les tests unitaires
+    private static Statistics statistics(ExtensionContext context) {
+        boolean spring = MergedAnnotations.from(context.getRequiredTestClass(), MergedAnnotations.SearchStrategy.TYPE_HIERARCHY)
+                .stream(ExtendWith.class)
+                .anyMatch(a -> Arrays.asList(a.getClassArray("value")).contains(SpringExtension.class));
+        if (!spring) {
+            return null;
+        }
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        EntityManagerFactory entityManagerFactory = applicationContext.getBeanProvider(EntityManagerFactory.class).getIfAvailable();
+        if (entityManagerFactory == null) {
+            return null;
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            statistics.setStatisticsEnabled(true);
+        }
+        return statistics;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled()
+                ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+    }
+
+    // Référence + marge relative ; les allocations tolèrent en plus un écart absolu (bruit du JIT, caches)
+    private static long limit(ExtensionContext context, String metric, long reference) {
+        if (SQL_STATEMENTS.equals(metric)) {
+            return reference + (long) Math.floor(reference * parameter(context, "tpfoyer.perf.sql-margin", 0.0));
+        }
+        return reference + (long) (reference * parameter(context, "tpfoyer.perf.allocation-margin", 0.5))
+                + (long) parameter(context, "tpfoyer.perf.allocation-slack", 1_048_576);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Long>> measurements(ExtensionContext context) {
+        // Store de la classe : partagé par ses méthodes, lu par afterAll
+        ExtensionContext classContext = context.getTestMethod().isPresent() ? context.getParent().orElseThrow() : context;
+        return classContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent("measurements", k -> Collections.synchronizedMap(new LinkedHashMap<>()), Map.class);
+    }
+
+    private static Properties baseline(ExtensionContext context, Class<?> testClass) {
+        Properties properties = new Properties();
+        Path file = baselineFile(context, testClass);
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return properties;
+    }
+
+    private static Path baselineFile(ExtensionContext context, Class<?> testClass) {
+        String directory = context.getConfigurationParameter("tpfoyer.perf.baseline-dir")
+                .orElse("src/test/resources/perf-baselines");
+        return Path.of(directory, testClass.getSimpleName() + ".properties");
+    }
+
+    private static boolean enabled(ExtensionContext context) {
+        return context.getConfigurationParameter("tpfoyer.perf.enabled").map(Boolean::parseBoolean).orElse(true);
+    }
+
+    private static boolean update(ExtensionContext context) {
+        return context.getConfigurationParameter("tpfoyer.perf.update").map(Boolean::parseBoolean).orElse(false);
+    }
+
+    private static boolean parameter(ExtensionContext context, String key, boolean defaultValue) {
+        return context.getConfigurationParameter(key).map(Boolean::parseBoolean).orElse(defaultValue);
+    }
+
+    private static double parameter(ExtensionContext context, String key, double defaultValue) {
+        return context.getConfigurationParameter(key).map(Double::parseDouble).orElse(defaultValue);
+    }
+}
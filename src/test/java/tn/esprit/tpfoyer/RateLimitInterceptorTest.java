@@ -0,0 +1,172 @@
+package tn.esprit.tpfoyer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import tn.esprit.tpfoyer.config.RateLimitInterceptor;
+import tn.esprit.tpfoyer.config.RateLimitProperties;
+import tn.esprit.tpfoyer.config.WarmupRunner;
+import tn.esprit.tpfoyer.control.FoyerRestController;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitProperties properties;
+    private RateLimitInterceptor interceptor;
+    private HandlerMethod getFoyers;
+    private HandlerMethod retrieveFoyer;
+    private ReadinessState readiness = ReadinessState.ACCEPTING_TRAFFIC;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        ApplicationAvailability availability = mock(ApplicationAvailability.class);
+        when(availability.getReadinessState()).thenAnswer(invocation -> readiness);
+        interceptor = new RateLimitInterceptor(properties, meterRegistry, availability);
+
+        FoyerRestController controller = new FoyerRestController(null, null);
+        getFoyers = new HandlerMethod(controller, FoyerRestController.class.getMethod("getFoyers", Set.class));
+        retrieveFoyer = new HandlerMethod(controller, FoyerRestController.class.getMethod("retrieveFoyer", Long.class, Set.class));
+    }
+
+    @Test
+    void testPerClientBucket_Returns429WithRetryAfter() {
+        limit(null, bucket(2));
+
+        assertEquals(200, call(getFoyers, "10.0.0.1").getStatus());
+        assertEquals(200, call(getFoyers, "10.0.0.1").getStatus());
+        MockHttpServletResponse rejected = call(getFoyers, "10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        // Un autre client garde son propre bucket
+        assertEquals(200, call(getFoyers, "10.0.0.2").getStatus());
+        assertEquals(1.0, meterRegistry.get("tpfoyer.ratelimit.rejected").tag("scope", "client").counter().count());
+    }
+
+    @Test
+    void testSharedBucket_RejectsAllClients() {
+        limit(bucket(2), null);
+
+        assertEquals(200, call(getFoyers, "10.0.0.1").getStatus());
+        assertEquals(200, call(getFoyers, "10.0.0.2").getStatus());
+
+        assertEquals(429, call(getFoyers, "10.0.0.3").getStatus());
+        assertEquals(1.0, meterRegistry.get("tpfoyer.ratelimit.rejected").tag("scope", "shared").counter().count());
+    }
+
+    @Test
+    void testSharedRejection_DoesNotChargeClient() {
+        limit(bucket(1), bucket(1));
+
+        assertEquals(200, call(getFoyers, "10.0.0.1").getStatus());
+        // Rejeté par le bucket partagé : le jeton de 10.0.0.2 est rendu
+        assertEquals(429, call(getFoyers, "10.0.0.2").getStatus());
+        properties.getEndpoints().get("FoyerRestController.getFoyers").setShared(null);
+
+        assertEquals(200, call(getFoyers, "10.0.0.2").getStatus());
+        assertNull(meterRegistry.find("tpfoyer.ratelimit.rejected").tag("scope", "client").counter());
+    }
+
+    @Test
+    void testUnconfiguredEndpoint_IsNotLimited() {
+        limit(bucket(1), bucket(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call(retrieveFoyer, "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void testWarmupTrafficBeforeReadiness_IsNotLimited() {
+        limit(bucket(1), bucket(1));
+        readiness = ReadinessState.REFUSING_TRAFFIC;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, warmupCall("127.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void testOtherTrafficBeforeReadiness_IsLimited() {
+        limit(bucket(1), null);
+        readiness = ReadinessState.REFUSING_TRAFFIC;
+
+        assertEquals(200, call(getFoyers, "127.0.0.1").getStatus());
+        // Sans l'en-tête de warm-up, ou marquée mais venant d'une autre machine
+        assertEquals(429, call(getFoyers, "127.0.0.1").getStatus());
+        assertEquals(429, warmupCall("10.0.0.1").getStatus());
+    }
+
+    @Test
+    void testWarmupHeaderAfterReadiness_IsLimited() {
+        limit(bucket(1), null);
+
+        assertEquals(200, warmupCall("127.0.0.1").getStatus());
+        assertEquals(429, warmupCall("127.0.0.1").getStatus());
+    }
+
+    @Test
+    void testForwardedFor_UsedOnlyWhenTrusted() {
+        limit(null, bucket(1));
+        properties.setTrustForwardedFor(true);
+
+        assertEquals(200, call(getFoyers, "10.0.0.1", "192.168.0.1, 10.0.0.1").getStatus());
+        // Même proxy, client d'origine différent
+        assertEquals(200, call(getFoyers, "10.0.0.1", "192.168.0.2, 10.0.0.1").getStatus());
+        assertEquals(429, call(getFoyers, "10.0.0.1", "192.168.0.1").getStatus());
+    }
+
+    private void limit(RateLimitProperties.Bucket shared, RateLimitProperties.Bucket perClient) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setShared(shared);
+        limit.setPerClient(perClient);
+        properties.getEndpoints().put("FoyerRestController.getFoyers", limit);
+    }
+
+    // Recharge négligeable : aucun jeton ne revient pendant le test
+    private static RateLimitProperties.Bucket bucket(long capacity) {
+        RateLimitProperties.Bucket bucket = new RateLimitProperties.Bucket();
+        bucket.setCapacity(capacity);
+        bucket.setRefillPerSecond(0.001);
+        return bucket;
+    }
+
+    private MockHttpServletResponse call(HandlerMethod handler, String remoteAddr) {
+        return call(handler, remoteAddr, null);
+    }
+
+    private MockHttpServletResponse call(HandlerMethod handler, String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foyer");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return call(handler, request);
+    }
+
+    private MockHttpServletResponse warmupCall(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foyer");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader(WarmupRunner.WARMUP_HEADER, "true");
+        return call(getFoyers, request);
+    }
+
+    private MockHttpServletResponse call(HandlerMethod handler, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request, response, handler);
+        assertEquals(proceed, response.getStatus() == 200);
+        return response;
+    }
+}
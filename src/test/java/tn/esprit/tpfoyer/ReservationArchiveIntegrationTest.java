@@ -0,0 +1,292 @@
+package tn.esprit.tpfoyer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tn.esprit.tpfoyer.archive.ArchiveProperties;
+import tn.esprit.tpfoyer.archive.ReservationArchive;
+import tn.esprit.tpfoyer.archive.ReservationArchive.ArchiveReport;
+import tn.esprit.tpfoyer.datagen.DataGenerator;
+import tn.esprit.tpfoyer.datagen.DataGeneratorProperties;
+import tn.esprit.tpfoyer.dto.ReservationArchivee;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.service.IReservationService;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Tests d'Intégration pour l'archive froide des réservations")
+class ReservationArchiveIntegrationTest {
+
+    // Enfants avant parents
+    private static final List<String> TABLES = List.of("chambre_reservations", "reservation_etudiants",
+            "reservation_id_alias", "reservation", "etudiant", "chambre", "bloc", "universite", "foyer");
+
+    private static final int PREMIERE_ANNEE = 2021;
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private ReservationArchive archive;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        clear();
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setUniversites(2);
+        properties.setBlocsPerFoyer(2);
+        properties.setChambresPerBloc(20);
+        properties.setAcademicYears(3);
+        properties.setFirstAcademicYear(PREMIERE_ANNEE);
+        dataGenerator.generate(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        clear();
+    }
+
+    @Test
+    @DisplayName("Une année archivée quitte les tables et se relit par identifiant et par CIN")
+    void testArchiver() {
+        AnneeAcademique annee = AnneeAcademique.of(PREMIERE_ANNEE);
+        Map<String, Object> attendue = jdbcTemplate.queryForMap("SELECT r.id_reservation, r.est_valide, "
+                + "e.cin_etudiant, e.nom_etudiant, ch.numero_chambre FROM reservation r "
+                + "JOIN reservation_etudiants re ON re.reservations_id_reservation = r.id_reservation "
+                + "JOIN etudiant e ON e.id_etudiant = re.etudiants_id_etudiant "
+                + "JOIN chambre_reservations cr ON cr.reservations_id_reservation = r.id_reservation "
+                + "JOIN chambre ch ON ch.id_chambre = cr.chambre_id_chambre "
+                + "WHERE r.annee_academique = ? ORDER BY r.id_reservation LIMIT 1", PREMIERE_ANNEE);
+        long avant = compter(PREMIERE_ANNEE);
+        long suivante = compter(PREMIERE_ANNEE + 1);
+
+        ArchiveReport report = archive.archiver(annee);
+
+        assertEquals(avant, report.archived());
+        assertEquals(avant, report.removed());
+        assertEquals(1, report.segments().size());
+        assertTrue(Files.exists(report.segments().get(0)));
+        assertEquals(0, compter(PREMIERE_ANNEE));
+        assertEquals(suivante, compter(PREMIERE_ANNEE + 1));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation_etudiants re "
+                + "LEFT JOIN reservation r ON r.id_reservation = re.reservations_id_reservation "
+                + "WHERE r.id_reservation IS NULL", Long.class));
+
+        String id = (String) attendue.get("id_reservation");
+        ReservationArchivee archivee = reservationService.retrieveReservationArchivee(id);
+        assertEquals(annee, archivee.anneeAcademique());
+        assertEquals(attendue.get("est_valide"), archivee.estValide());
+        assertEquals(((Number) attendue.get("numero_chambre")).longValue(), archivee.chambre().numeroChambre());
+        assertEquals(attendue.get("nom_etudiant"), archivee.etudiants().get(0).nomEtudiant());
+
+        long cin = ((Number) attendue.get("cin_etudiant")).longValue();
+        assertTrue(reservationService.retrieveReservationsArchiveesParCin(cin).stream()
+                .anyMatch(r -> r.idReservation().equals(id)));
+        assertThrows(NoSuchElementException.class, () -> reservationService.retrieveReservationArchivee("inconnue"));
+
+        // Relu au redémarrage : segments rouverts depuis le disque
+        archive.reload();
+        assertEquals(id, archive.find(id).orElseThrow().idReservation());
+    }
+
+    @Test
+    @DisplayName("Toutes les réservations d'une année sont relues à l'identique, sur plusieurs blocs")
+    void testRelectureComplete() {
+        Map<String, Long> cinsParReservation = new HashMap<>();
+        jdbcTemplate.query("SELECT re.reservations_id_reservation, e.cin_etudiant FROM reservation_etudiants re "
+                        + "JOIN etudiant e ON e.id_etudiant = re.etudiants_id_etudiant "
+                        + "JOIN reservation r ON r.id_reservation = re.reservations_id_reservation "
+                        + "WHERE r.annee_academique = ?",
+                rs -> { cinsParReservation.put(rs.getString(1), rs.getLong(2)); }, PREMIERE_ANNEE);
+
+        ArchiveReport report = archive.archiver(AnneeAcademique.of(PREMIERE_ANNEE));
+
+        // Une centaine de réservations d'environ 100 octets bruts : plusieurs blocs de 4 Ko en test
+        assertEquals(cinsParReservation.size(), report.archived());
+        assertTrue(report.archived() > 80, "jeu trop petit pour plusieurs blocs : " + report.archived());
+        cinsParReservation.forEach((id, cin) -> {
+            ReservationArchivee archivee = archive.find(id).orElseThrow();
+            assertEquals(cin, archivee.etudiants().get(0).cinEtudiant());
+            assertTrue(archive.findByCin(cin).contains(archivee));
+        });
+    }
+
+    @Test
+    @DisplayName("Une année plus grande qu'un segment est lue et écrite par lots, un segment par lot")
+    void testArchivageParLots() {
+        List<String> ids = jdbcTemplate.queryForList("SELECT id_reservation FROM reservation WHERE annee_academique = ?",
+                String.class, PREMIERE_ANNEE);
+        ArchiveProperties parLots = new ArchiveProperties();
+        parLots.setDirectory(archiveProperties.getDirectory());
+        parLots.setBlockSize(archiveProperties.getBlockSize());
+        parLots.setSegmentSize(30);
+        ReservationArchive job = new ReservationArchive(dataSource, parLots);
+        job.reload();
+
+        ArchiveReport report = job.archiver(AnneeAcademique.of(PREMIERE_ANNEE));
+
+        assertEquals(ids.size(), report.archived());
+        assertEquals(ids.size(), report.removed());
+        assertEquals((ids.size() + 29) / 30, report.segments().size());
+        assertEquals(0, compter(PREMIERE_ANNEE));
+        archive.rescan();
+        // Étudiants lus par lot : chaque réservation garde le sien, quel que soit son segment
+        ids.forEach(id -> assertEquals(1, archive.find(id).orElseThrow().etudiants().size(), id));
+    }
+
+    @Test
+    @DisplayName("Archiver de nouveau une année n'ajoute pas de doublon ; l'année en cours reste en ligne")
+    void testIdempotence() {
+        AnneeAcademique annee = AnneeAcademique.of(PREMIERE_ANNEE);
+        archive.archiver(annee);
+
+        ArchiveReport encore = archive.archiver(annee);
+
+        assertEquals(0, encore.archived());
+        assertTrue(encore.segments().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> archive.archiver(AnneeAcademique.courante()));
+    }
+
+    @Test
+    @DisplayName("Un segment écrit par le job d'archivage est lu sans redémarrer l'application")
+    void testSegmentAjouteParLeJob() throws IOException {
+        String id = jdbcTemplate.queryForObject("SELECT MIN(id_reservation) FROM reservation WHERE annee_academique = ?",
+                String.class, PREMIERE_ANNEE);
+        // Le job (profil archive-reservations) tourne dans un autre processus, sur le même répertoire
+        ReservationArchive job = new ReservationArchive(dataSource, archiveProperties);
+        job.reload();
+        job.archiver(AnneeAcademique.of(PREMIERE_ANNEE));
+        assertTrue(archive.find(id).isEmpty());
+
+        archive.rescan();
+
+        assertEquals(id, archive.find(id).orElseThrow().idReservation());
+        // Archivage suivant depuis l'application : nouveau segment, celui du job est gardé
+        archive.archiver(AnneeAcademique.of(PREMIERE_ANNEE + 1));
+        try (Stream<Path> files = Files.list(archiveProperties.getDirectory())) {
+            assertEquals(2, files.count());
+        }
+        assertEquals(id, archive.find(id).orElseThrow().idReservation());
+    }
+
+    @Test
+    @DisplayName("Les endpoints d'archive renvoient la réservation et les réservations d'un CIN")
+    void testEndpoints() throws Exception {
+        String id = jdbcTemplate.queryForObject("SELECT MIN(id_reservation) FROM reservation WHERE annee_academique = ?",
+                String.class, PREMIERE_ANNEE);
+        archive.archiver(AnneeAcademique.of(PREMIERE_ANNEE));
+
+        String body = mockMvc.perform(get("/reservation/archive/retrieve-reservation/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals(id, json.path("idReservation").asText());
+        assertEquals(AnneeAcademique.of(PREMIERE_ANNEE).toString(), json.path("anneeAcademique").asText());
+
+        long cin = json.path("etudiants").get(0).path("cinEtudiant").asLong();
+        String parCin = mockMvc.perform(get("/reservation/archive/retrieve-reservations-cin/" + cin))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(objectMapper.readTree(parCin).size() >= 1);
+    }
+
+    @Test
+    @DisplayName("Un bloc tronqué ou de taille brute erronée est signalé corrompu, sans boucler")
+    void testBlocCorrompu() throws IOException {
+        String id = jdbcTemplate.queryForObject("SELECT MIN(id_reservation) FROM reservation WHERE annee_academique = ?",
+                String.class, PREMIERE_ANNEE);
+        Path segment = archive.archiver(AnneeAcademique.of(PREMIERE_ANNEE)).segments().get(0);
+        byte[] original = Files.readAllBytes(segment);
+        Files.delete(segment);
+
+        // Taille compressée réduite à 16 octets : le flux Deflate s'arrête avant la fin du bloc
+        Path tronque = segment.resolveSibling("reservations-tronque.seg");
+        Files.write(tronque, modifierBlocs(original, 1, taille -> Math.min(taille, 16)));
+        archive.reload();
+        assertCorrompu(id);
+
+        // Taille brute annoncée plus grande que le bloc décompressé
+        Files.delete(tronque);
+        Files.write(segment.resolveSibling("reservations-taille.seg"), modifierBlocs(original, 2, taille -> taille + 1));
+        archive.reload();
+        assertCorrompu(id);
+    }
+
+    private void assertCorrompu(String id) {
+        UncheckedIOException exception = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(UncheckedIOException.class, () -> archive.find(id)));
+        assertTrue(exception.getMessage().contains("corrompu"), exception.getMessage());
+    }
+
+    // Index des blocs (position du pied) : n, puis (position, taille compressée, taille brute) par bloc
+    private static byte[] modifierBlocs(byte[] segment, int champ, IntUnaryOperator modification) {
+        byte[] copie = segment.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(copie);
+        int index = buffer.getInt(copie.length - 2 * Integer.BYTES);
+        for (int bloc = 0; bloc < buffer.getInt(index); bloc++) {
+            int position = index + Integer.BYTES * (1 + 3 * bloc + champ);
+            buffer.putInt(position, modification.applyAsInt(buffer.getInt(position)));
+        }
+        return copie;
+    }
+
+    private long compter(int rentree) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation WHERE annee_academique = ?", Long.class, rentree);
+    }
+
+    private void clear() throws IOException {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        Path directory = archiveProperties.getDirectory();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+        archive.reload();
+    }
+}
@@ -0,0 +1,162 @@
+package tn.esprit.tpfoyer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.tpfoyer.entity.AnneeAcademique;
+import tn.esprit.tpfoyer.entity.Etudiant;
+import tn.esprit.tpfoyer.entity.Reservation;
+import tn.esprit.tpfoyer.entity.Ulid;
+import tn.esprit.tpfoyer.migration.ReservationIdMigration;
+import tn.esprit.tpfoyer.migration.ReservationIdMigration.MigrationReport;
+import tn.esprit.tpfoyer.repository.EtudiantRepository;
+import tn.esprit.tpfoyer.repository.ReservationRepository;
+import tn.esprit.tpfoyer.service.IReservationService;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests d'Intégration pour les identifiants de réservation")
+class ReservationIdIntegrationTest {
+
+    // Enfants avant parents
+    private static final List<String> TABLES = List.of("chambre_reservations", "reservation_etudiants",
+            "reservation_id_alias", "reservation", "etudiant");
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationIdMigration reservationIdMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Etudiant etudiant;
+
+    @BeforeEach
+    void setUp() {
+        clear();
+        etudiant = new Etudiant();
+        etudiant.setNomEtudiant("Ben Salah");
+        etudiant.setPrenomEtudiant("Amira");
+        etudiant.setCinEtudiant(12345678L);
+        etudiant = etudiantRepository.save(etudiant);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+    }
+
+    @Test
+    @DisplayName("Une réservation sans identifiant reçoit un ULID croissant")
+    void testGeneratedId() {
+        Reservation first = reservationService.addReservation(reservation(null, 2024));
+        Reservation second = reservationService.addReservation(reservation(null, 2024));
+
+        assertTrue(Ulid.isValid(first.getIdReservation()));
+        assertTrue(first.getIdReservation().compareTo(second.getIdReservation()) < 0);
+        assertEquals(first.getIdReservation(),
+                reservationService.retrieveReservation(first.getIdReservation().toLowerCase()).getIdReservation());
+    }
+
+    @Test
+    @DisplayName("Un identifiant fourni par le client est refusé à la création, même un ULID existant")
+    void testAssignedIdRefused() {
+        Reservation existing = reservationService.addReservation(reservation(null, 2024));
+
+        // ULID existant : save() écraserait la réservation
+        ResponseStatusException refused = assertThrows(ResponseStatusException.class,
+                () -> reservationService.addReservation(reservation(existing.getIdReservation(), 2025)));
+        assertEquals(HttpStatus.BAD_REQUEST, refused.getStatusCode());
+        // ULID neuf au timestamp arbitraire, identifiant libre
+        assertThrows(ResponseStatusException.class,
+                () -> reservationService.addReservation(reservation(Ulid.next().toString(), 2024)));
+        assertThrows(ResponseStatusException.class,
+                () -> reservationService.addReservation(reservation("2024-RES-1", 2024)));
+
+        assertEquals(1, reservationRepository.count());
+        assertEquals(AnneeAcademique.of(2024),
+                reservationService.retrieveReservation(existing.getIdReservation()).getAnneeAcademique());
+    }
+
+    @Test
+    @DisplayName("La modification exige une réservation existante")
+    void testModifyUnknownId() {
+        ResponseStatusException unknown = assertThrows(ResponseStatusException.class,
+                () -> reservationService.modifyReservation(reservation(Ulid.next().toString(), 2024)));
+        assertEquals(HttpStatus.NOT_FOUND, unknown.getStatusCode());
+        ResponseStatusException missing = assertThrows(ResponseStatusException.class,
+                () -> reservationService.modifyReservation(reservation(null, 2024)));
+        assertEquals(HttpStatus.BAD_REQUEST, missing.getStatusCode());
+        assertEquals(0, reservationRepository.count());
+    }
+
+    @Test
+    @DisplayName("La migration remplace les anciens identifiants, jointures comprises, et garde un alias")
+    void testMigration() {
+        // Anciens identifiants libres, écrits avant le passage aux ULID
+        reservationRepository.save(reservation("2023-RES-1", 2023));
+        reservationRepository.save(reservation("2022-RES-1", 2022));
+        String recent = reservationService.addReservation(reservation(null, 2024)).getIdReservation();
+
+        MigrationReport report = reservationIdMigration.migrate(1);
+
+        assertEquals(2, report.migrated());
+        List<String> ids = jdbcTemplate.queryForList(
+                "SELECT id_reservation FROM reservation ORDER BY id_reservation", String.class);
+        assertEquals(3, ids.size());
+        assertTrue(ids.stream().allMatch(Ulid::isValid), ids::toString);
+        assertTrue(ids.contains(recent));
+
+        // Ordre des ULID = ordre des années universitaires
+        String migrated2022 = reservationService.retrieveReservation("2022-RES-1").getIdReservation();
+        String migrated2023 = reservationService.retrieveReservation("2023-RES-1").getIdReservation();
+        assertEquals(List.of(migrated2022, migrated2023), ids.subList(0, 2));
+        assertEquals(LocalDate.of(2022, 9, 15), LocalDate.ofInstant(
+                new Date(Ulid.parse(migrated2022).timestamp()).toInstant(), ZoneId.systemDefault()));
+
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservation_etudiants WHERE etudiants_id_etudiant = ?",
+                Long.class, etudiant.getIdEtudiant()));
+        assertEquals(Set.of(migrated2022, migrated2023, recent), Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT reservations_id_reservation FROM reservation_etudiants", String.class)));
+
+        // Relancée, la migration n'a plus rien à faire
+        assertEquals(0, reservationIdMigration.migrate(1).migrated());
+    }
+
+    private Reservation reservation(String id, int annee) {
+        Reservation reservation = new Reservation();
+        reservation.setIdReservation(id);
+        reservation.setAnneeUniversitaire(Date.from(LocalDate.of(annee, 9, 15)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        reservation.setEtudiants(Set.of(etudiant));
+        return reservation;
+    }
+
+    private void clear() {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+    }
+}
@@ -0,0 +1,111 @@
+package tn.esprit.tpfoyer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tn.esprit.tpfoyer.service.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("tpfoyer.singleflight.calls").tag("result", "coalesced").counter().count();
+    }
+
+    private <T> List<Future<T>> concurrentCalls(Callable<T> call, CountDownLatch release) throws Exception {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(call));
+        }
+        // Attendre que tous les appelants sauf le premier soient en attente du chargement en cours
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        return futures;
+    }
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> futures = concurrentCalls(() -> singleFlight.load(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "foyer-1";
+        }), release);
+
+        for (Future<String> future : futures) {
+            assertEquals("foyer-1", future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, coalesced());
+    }
+
+    @Test
+    void testConcurrentCallersShareTheException() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> futures = concurrentCalls(() -> singleFlight.load(2L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new NoSuchElementException("absent");
+        }), release);
+
+        for (Future<String> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(NoSuchElementException.class, e.getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testResultIsNotCachedAfterCompletion() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.load(3L, () -> "v" + loads.incrementAndGet());
+        String second = singleFlight.load(3L, () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v2", second);
+        assertEquals(2, loads.get());
+        assertEquals(0, coalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
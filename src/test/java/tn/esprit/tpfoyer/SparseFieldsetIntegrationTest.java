@@ -0,0 +1,152 @@
+package tn.esprit.tpfoyer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tn.esprit.tpfoyer.dto.BatchResult;
+import tn.esprit.tpfoyer.entity.Etudiant;
+import tn.esprit.tpfoyer.repository.EtudiantRepository;
+import tn.esprit.tpfoyer.service.IEtudiantService;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests d'Intégration pour les sparse fieldsets (?fields=)")
+class SparseFieldsetIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private IEtudiantService etudiantService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    private Etudiant etudiant;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        etudiant = new Etudiant();
+        etudiant.setNomEtudiant("Ben Salah");
+        etudiant.setPrenomEtudiant("Amine");
+        etudiant.setCinEtudiant(12345678L);
+        etudiant.setDateNaissance(new Date());
+        etudiant = etudiantRepository.save(etudiant);
+    }
+
+    @AfterEach
+    void tearDown() {
+        etudiantRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Seules les propriétés demandées sont écrites")
+    void testRetrieveAllWithFields() throws Exception {
+        mockMvc.perform(get("/etudiant/retrieve-all-etudiants").param("fields", "cinEtudiant,nomEtudiant"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].cinEtudiant").value(12345678))
+                .andExpect(jsonPath("$[0].nomEtudiant").value("Ben Salah"))
+                .andExpect(jsonPath("$[0].idEtudiant").doesNotExist())
+                .andExpect(jsonPath("$[0].prenomEtudiant").doesNotExist())
+                .andExpect(jsonPath("$[0].reservations").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Sans paramètre fields, la réponse est complète")
+    void testRetrieveWithoutFields() throws Exception {
+        mockMvc.perform(get("/etudiant/retrieve-etudiant/" + etudiant.getIdEtudiant()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prenomEtudiant").value("Amine"))
+                .andExpect(jsonPath("$.dateNaissance").exists());
+    }
+
+    @Test
+    @DisplayName("Le filtre s'applique aussi aux éléments d'un BatchResult")
+    void testBatchWithFields() throws Exception {
+        mockMvc.perform(get("/etudiant/retrieve-etudiants-cin").param("cins", "12345678", "1")
+                        .param("fields", "nomEtudiant"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[0].nomEtudiant").value("Ben Salah"))
+                .andExpect(jsonPath("$.found[0].cinEtudiant").doesNotExist())
+                .andExpect(jsonPath("$.missing[0]").value(1));
+    }
+
+    @Test
+    @DisplayName("Un champ inconnu est refusé")
+    void testUnknownField() throws Exception {
+        mockMvc.perform(get("/etudiant/retrieve-all-etudiants").param("fields", "nomEtudiant,motDePasse"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("La lecture projetée ne charge que les colonnes demandées")
+    void testProjectedRead() {
+        List<Etudiant> etudiants = etudiantService.retrieveAllEtudiants(Set.of("nomEtudiant"));
+
+        assertEquals(1, etudiants.size());
+        assertEquals(etudiant.getIdEtudiant(), etudiants.get(0).getIdEtudiant());
+        assertEquals("Ben Salah", etudiants.get(0).getNomEtudiant());
+        assertNull(etudiants.get(0).getPrenomEtudiant());
+        assertNull(etudiants.get(0).getDateNaissance());
+
+        // Association demandée : chargement complet de l'entité
+        Etudiant complet = etudiantService.retrieveEtudiant(etudiant.getIdEtudiant(), Set.of("reservations"));
+        assertEquals("Amine", complet.getPrenomEtudiant());
+    }
+
+    @Test
+    @DisplayName("Les lectures par CIN et par lot sont aussi projetées")
+    void testProjectedCinAndBatchReads() {
+        BatchResult<Etudiant, Long> parCins = etudiantService.recupererEtudiantsParCins(List.of(12345678L, 1L),
+                Set.of("nomEtudiant"));
+        assertEquals(List.of(1L), parCins.missing());
+        Etudiant trouve = parCins.found().get(0);
+        // Le CIN, clé du lot, est toujours lu
+        assertEquals(12345678L, trouve.getCinEtudiant());
+        assertEquals("Ben Salah", trouve.getNomEtudiant());
+        assertNull(trouve.getPrenomEtudiant());
+
+        Etudiant parCin = etudiantService.recupererEtudiantParCin(12345678L, Set.of("prenomEtudiant"));
+        assertEquals("Amine", parCin.getPrenomEtudiant());
+        assertNull(parCin.getNomEtudiant());
+        assertNull(etudiantService.recupererEtudiantParCin(1L, Set.of("prenomEtudiant")));
+
+        BatchResult<Etudiant, Long> parIds = etudiantService.retrieveEtudiants(List.of(etudiant.getIdEtudiant()),
+                Set.of("nomEtudiant"));
+        assertEquals("Ben Salah", parIds.found().get(0).getNomEtudiant());
+        assertNull(parIds.found().get(0).getDateNaissance());
+    }
+
+    @Test
+    @DisplayName("Le filtre n'est déclaré que sur les entités et DTO renvoyés")
+    void testFilterOnlyOnResponseTypes() {
+        assertNotNull(objectMapper.getSerializationConfig().findMixInClassFor(Etudiant.class));
+        assertNull(objectMapper.getSerializationConfig().findMixInClassFor(BatchResult.class));
+        assertNull(objectMapper.getSerializationConfig().findMixInClassFor(Object.class));
+    }
+}
@@ -0,0 +1,32 @@
+package tn.esprit.tpfoyer;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import tn.esprit.tpfoyer.config.SqlStatementStats;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Matchers MockMvc pour vérifier le budget SQL d'un appel (statistiques finales de SqlBudgetFilter,
+ * chargements paresseux de la sérialisation compris, contrairement à l'en-tête X-Sql-Statements).
+ * Le MockMvc doit être construit avec le filtre : {@code webAppContextSetup(ctx).addFilters(sqlBudgetFilter)}.
+ */
+public final class SqlBudgetMatchers {
+
+    private SqlBudgetMatchers() {
+    }
+
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            int statements = statements(result);
+            assertTrue(statements <= max, "Budget SQL dépassé : " + statements + " requêtes (max " + max + ")");
+        };
+    }
+
+    public static int statements(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+        assertNotNull(stats, "Statistiques SQL absentes (SqlBudgetFilter non enregistré ?)");
+        return ((SqlStatementStats) stats).getStatements();
+    }
+}
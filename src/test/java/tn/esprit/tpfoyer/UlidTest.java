@@ -0,0 +1,88 @@
+package tn.esprit.tpfoyer;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.tpfoyer.entity.Ulid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UlidTest {
+
+    @Test
+    void testTextAndBinaryRoundTrip() {
+        Ulid ulid = Ulid.of(1_700_000_000_000L, new SplittableRandom(1));
+
+        String text = ulid.toString();
+        assertEquals(Ulid.LENGTH, text.length());
+        assertTrue(Ulid.isValid(text));
+        assertEquals(ulid, Ulid.parse(text));
+        assertEquals(ulid, Ulid.parse(text.toLowerCase()));
+        assertEquals(ulid, Ulid.fromBytes(ulid.toBytes()));
+        assertEquals(1_700_000_000_000L, ulid.timestamp());
+    }
+
+    @Test
+    void testKnownEncoding() {
+        // Valeurs extrêmes : 128 bits à zéro, 128 bits à un
+        assertEquals("00000000000000000000000000", Ulid.fromBytes(new byte[16]).toString());
+        byte[] ones = new byte[16];
+        Arrays.fill(ones, (byte) 0xFF);
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", Ulid.fromBytes(ones).toString());
+    }
+
+    @Test
+    void testTextOrderFollowsTimeAndBinaryOrder() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Ulid> ulids = new ArrayList<>();
+        for (long t = 0; t < 2000; t++) {
+            ulids.add(Ulid.of(1_600_000_000_000L + t * 997, random));
+        }
+        for (int i = 1; i < ulids.size(); i++) {
+            Ulid previous = ulids.get(i - 1);
+            Ulid current = ulids.get(i);
+            assertTrue(previous.toString().compareTo(current.toString()) < 0);
+            assertTrue(previous.compareTo(current) < 0);
+            assertTrue(Arrays.compareUnsigned(previous.toBytes(), current.toBytes()) < 0);
+        }
+    }
+
+    @Test
+    void testGeneratorIsMonotonicWithinAMillisecondAndWhenTheClockGoesBack() {
+        Ulid.Generator generator = new Ulid.Generator(new SplittableRandom(3));
+
+        Ulid first = generator.next(1_000);
+        Ulid second = generator.next(1_000);
+        Ulid afterClockBack = generator.next(999);
+        Ulid later = generator.next(1_001);
+
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(afterClockBack) < 0);
+        assertTrue(afterClockBack.compareTo(later) < 0);
+        assertEquals(1_000, afterClockBack.timestamp());
+        assertEquals(1_001, later.timestamp());
+    }
+
+    @Test
+    void testNextIsStrictlyIncreasing() {
+        String previous = Ulid.next().toString();
+        for (int i = 0; i < 10_000; i++) {
+            String current = Ulid.next().toString();
+            assertTrue(previous.compareTo(current) < 0, previous + " >= " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void testInvalidText() {
+        assertFalse(Ulid.isValid(null));
+        assertFalse(Ulid.isValid("2024-15"));
+        assertFalse(Ulid.isValid("8ZZZZZZZZZZZZZZZZZZZZZZZZZ"));
+        assertFalse(Ulid.isValid("01HZZZZZZZZZZZZZZZZZZZZZZU"));
+        assertThrows(IllegalArgumentException.class, () -> Ulid.parse("CBOR-1"));
+        assertThrows(IllegalArgumentException.class, () -> Ulid.fromBytes(new byte[8]));
+    }
+}
@@ -0,0 +1,48 @@
+package tn.esprit.tpfoyer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tn.esprit.tpfoyer.config.WarmupRunner;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "management.server.port=0",
+                "tpfoyer.warmup.enabled=true",
+                "tpfoyer.warmup.iterations=3",
+                "tpfoyer.warmup.requests[0]=/foyer/retrieve-foyers?ids=1,2,3",
+                "tpfoyer.warmup.requests[1]=/bloc/retrieve-blocs?ids=1,2,3"
+        })
+@ActiveProfiles("test")
+@DisplayName("Warm-up exécuté avant readiness")
+class WarmupRunnerIntegrationTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void testWarmupReport() {
+        WarmupRunner.WarmupReport report = warmupRunner.getReport();
+
+        assertNotNull(report);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertTrue(report.preloads().keySet().containsAll(
+                List.of("universites", "foyers", "blocs", "chambres")));
+        assertEquals(2, report.requests().size());
+        assertEquals("/foyer/retrieve-foyers?ids=1,2,3", report.requests().get(0).path());
+        // Rejouées sur le serveur embarqué sans être limitées par le rate limiter
+        report.requests().forEach(request -> assertEquals(200, request.status(), request.path()));
+        report.requests().forEach(request -> assertEquals(3, request.iterations(), request.path()));
+    }
+}
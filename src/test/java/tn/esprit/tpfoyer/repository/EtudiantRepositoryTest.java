@@ -1,18 +1,24 @@
 package tn.esprit.tpfoyer.repository;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
+import tn.esprit.tpfoyer.PerformanceBudgetExtension;
 import tn.esprit.tpfoyer.entity.Etudiant;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@ExtendWith(PerformanceBudgetExtension.class)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class EtudiantRepositoryTest {
 
@@ -133,4 +139,49 @@ class EtudiantRepositoryTest {
         assertTrue(etudiantRepository.existsById(etudiantId));
         assertFalse(etudiantRepository.existsById(99999L));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testFindAllByCinEtudiantIn() {
+        // OD ======> Test finding etudiants from a list of CIN
+        Etudiant etudiant1 = new Etudiant();
+        etudiant1.setNomEtudiant("Batch");
+        etudiant1.setPrenomEtudiant("Un");
+        etudiant1.setCinEtudiant(66666661L);
+        etudiant1.setDateNaissance(new Date());
+
+        Etudiant etudiant2 = new Etudiant();
+        etudiant2.setNomEtudiant("Batch");
+        etudiant2.setPrenomEtudiant("Deux");
+        etudiant2.setCinEtudiant(66666662L);
+        etudiant2.setDateNaissance(new Date());
+
+        etudiantRepository.save(etudiant1);
+        etudiantRepository.save(etudiant2);
+
+        List<Etudiant> etudiants = etudiantRepository.findAllByCinEtudiantIn(List.of(66666661L, 66666662L, 66666663L));
+        assertEquals(2, etudiants.size());
+        assertTrue(etudiants.stream().allMatch(e -> "Batch".equals(e.getNomEtudiant())));
+    }
+
+    @Test
+    void testFindAllByIdInBatches() {
+        // OD ======> Test finding etudiants from an id list longer than one IN batch
+        Etudiant etudiant1 = new Etudiant();
+        etudiant1.setNomEtudiant("Lot");
+        etudiant1.setCinEtudiant(77777771L);
+        Etudiant etudiant2 = new Etudiant();
+        etudiant2.setNomEtudiant("Lot");
+        etudiant2.setCinEtudiant(77777772L);
+        etudiantRepository.save(etudiant1);
+        etudiantRepository.save(etudiant2);
+
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 1200).map(i -> -i).boxed().toList());
+        ids.add(600, etudiant1.getIdEtudiant());
+        ids.add(etudiant2.getIdEtudiant());
+        ids.add(etudiant2.getIdEtudiant());
+
+        List<Etudiant> etudiants = etudiantRepository.findAllById(ids);
+        assertEquals(2, etudiants.size());
+        assertEquals(2, etudiantRepository.findAllByIdProjected(ids, Set.of("nomEtudiant")).size());
+    }
+}
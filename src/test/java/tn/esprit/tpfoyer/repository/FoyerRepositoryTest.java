@@ -1,9 +1,11 @@
 package tn.esprit.tpfoyer.repository;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
+import tn.esprit.tpfoyer.PerformanceBudgetExtension;
 import tn.esprit.tpfoyer.entity.Foyer;
 
 import java.util.List;
@@ -12,6 +14,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@ExtendWith(PerformanceBudgetExtension.class)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class FoyerRepositoryTest {
 